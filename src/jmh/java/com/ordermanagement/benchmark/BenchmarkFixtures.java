@@ -0,0 +1,41 @@
+package com.ordermanagement.benchmark;
+
+import com.ordermanagement.dto.CreateOrderRequest;
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Shared sample data for the benchmarks, shaped like a typical API payload.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static CreateOrderRequest createOrderRequest(String customerId) {
+        return CreateOrderRequest.builder()
+                .customerId(customerId)
+                .productName("Wireless Keyboard")
+                .quantity(3)
+                .price(new BigDecimal("49.99"))
+                .build();
+    }
+
+    static Order order(long id) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+        return Order.builder()
+                .id(id)
+                .customerId("CUST-" + (id % 1000))
+                .productName("Wireless Keyboard")
+                .quantity(3)
+                .price(new BigDecimal("49.99"))
+                .status(OrderStatus.COMPLETED)
+                .idempotencyKey("key-" + id)
+                .createdAt(now)
+                .updatedAt(now.plusSeconds(2))
+                .build();
+    }
+}
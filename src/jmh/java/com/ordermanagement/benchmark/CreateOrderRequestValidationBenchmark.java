@@ -0,0 +1,58 @@
+package com.ordermanagement.benchmark;
+
+import com.ordermanagement.dto.CreateOrderRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation cost of a {@link CreateOrderRequest}, for both the happy path
+ * and a request that fails every constraint (violation messages are interpolated).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateOrderRequestValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CreateOrderRequest validRequest;
+    private CreateOrderRequest invalidRequest;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validRequest = BenchmarkFixtures.createOrderRequest("CUST-1");
+        invalidRequest = CreateOrderRequest.builder()
+                .customerId("")
+                .productName("")
+                .quantity(0)
+                .price(BigDecimal.ZERO)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateOrderRequest>> validRequest() {
+        return validator.validate(validRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateOrderRequest>> invalidRequest() {
+        return validator.validate(invalidRequest);
+    }
+}
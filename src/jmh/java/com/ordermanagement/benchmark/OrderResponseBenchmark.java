@@ -0,0 +1,86 @@
+package com.ordermanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ordermanagement.dto.OrderResponse;
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.json.OrderJsonModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping and JSON serialization of order lists, i.e. the
+ * per-response CPU cost of the read endpoints. Serialization is measured with Jackson's
+ * reflective bean serializer and with the hand-written {@link OrderJsonModule} serializers,
+ * including writing entities directly without the DTO copy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderResponseBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int size;
+
+    private List<Order> orders;
+    private List<OrderResponse> responses;
+    private ObjectWriter listWriter;
+    private ObjectWriter moduleListWriter;
+    private ObjectWriter moduleEntityListWriter;
+
+    @Setup
+    public void setUp() {
+        orders = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            orders.add(BenchmarkFixtures.order(i));
+        }
+        responses = fromEntity();
+        // Same defaults Spring Boot applies to the MVC ObjectMapper
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, OrderResponse.class));
+
+        ObjectMapper moduleMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new OrderJsonModule())
+                .build();
+        moduleListWriter = moduleMapper.writerFor(moduleMapper.getTypeFactory()
+                .constructCollectionType(List.class, OrderResponse.class));
+        moduleEntityListWriter = moduleMapper.writerFor(moduleMapper.getTypeFactory()
+                .constructCollectionType(List.class, Order.class));
+    }
+
+    @Benchmark
+    public List<OrderResponse> fromEntity() {
+        List<OrderResponse> result = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            result.add(OrderResponse.fromEntity(order));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return listWriter.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] serializeListWithOrderModule() throws Exception {
+        return moduleListWriter.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] serializeEntitiesWithOrderModule() throws Exception {
+        return moduleEntityListWriter.writeValueAsBytes(orders);
+    }
+}
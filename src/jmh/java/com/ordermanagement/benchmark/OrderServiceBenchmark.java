@@ -0,0 +1,75 @@
+package com.ordermanagement.benchmark;
+
+import com.ordermanagement.OrderManagementApplication;
+import com.ordermanagement.dto.CreateOrderRequest;
+import com.ordermanagement.dto.OrderResponse;
+import com.ordermanagement.dto.OrderSummary;
+import com.ordermanagement.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end service cost against the embedded H2 database from the test profile:
+ * a fresh idempotent create, a replayed create, and the per-customer listing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    private static final String LISTED_CUSTOMER = "CUST-BENCH-LIST";
+    private static final String REPLAYED_KEY = "bench-replayed-key";
+
+    @Param({"100"})
+    public int ordersPerCustomer;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private CreateOrderRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(OrderManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.jpa.show-sql=false",
+                        "--logging.level.com.ordermanagement=WARN",
+                        "--logging.level.root=WARN");
+        orderService = context.getBean(OrderService.class);
+
+        request = BenchmarkFixtures.createOrderRequest("CUST-BENCH-CREATE");
+        for (int i = 0; i < ordersPerCustomer; i++) {
+            orderService.createOrder(BenchmarkFixtures.createOrderRequest(LISTED_CUSTOMER), null);
+        }
+        orderService.createOrder(request, REPLAYED_KEY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(request, UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    public OrderResponse createOrderReplayed() {
+        return orderService.createOrder(request, REPLAYED_KEY);
+    }
+
+    @Benchmark
+    public List<OrderSummary> getOrdersByCustomer() {
+        return orderService.getCustomerOrders(LISTED_CUSTOMER, null, null, null, null, OrderService.DEFAULT_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,87 @@
+package com.ordermanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ordermanagement.dto.OrderResponse;
+import com.ordermanagement.json.OrderJsonModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of response compression for order lists: serializing a list as is versus serializing
+ * it into a gzip stream, as Tomcat does for responses above server.compression.min-response-size.
+ * The size of each body is reported next to its time as the {@code bytes} secondary result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseCompressionBenchmark {
+
+    /**
+     * From a single order up to the maximum page size of GET /api/orders.
+     */
+    @Param({"1", "20", "100", "1000"})
+    public int size;
+
+    private List<OrderResponse> responses;
+    private ObjectWriter listWriter;
+
+    @Setup
+    public void setUp() {
+        responses = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            responses.add(OrderResponse.fromEntity(BenchmarkFixtures.order(i)));
+        }
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new OrderJsonModule())
+                .build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, OrderResponse.class));
+    }
+
+    /**
+     * Bytes on the wire of the body last written. The size is the same on every invocation, so
+     * it is assigned rather than accumulated and the event counter reports it as is.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class BodySize {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] identity(BodySize bodySize) throws IOException {
+        byte[] body = listWriter.writeValueAsBytes(responses);
+        bodySize.bytes = body.length;
+        return body;
+    }
+
+    @Benchmark
+    public byte[] gzip(BodySize bodySize) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            listWriter.writeValue(gzip, responses);
+        }
+        byte[] body = bytes.toByteArray();
+        bodySize.bytes = body.length;
+        return body;
+    }
+}
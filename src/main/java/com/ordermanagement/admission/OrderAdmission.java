@@ -0,0 +1,173 @@
+package com.ordermanagement.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ordermanagement.service.OrderQueuePoller;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Admission control for order creation, checked before any database work is done.
+ * Requests are shed with 503 while the processing queue is deeper than {@code max-queue-depth},
+ * and rate limited with 429 by a per-customer and a global token bucket. Rejections carry the
+ * time after which a retry is worth it and are counted as {@code order.admission.rejected{reason}}.
+ */
+@Component
+@Slf4j
+public class OrderAdmission {
+
+    private final boolean enabled;
+    private final long maxQueueDepth;
+    private final Duration shedRetryAfter;
+    private final double customerRate;
+    private final double customerBurst;
+    private final TokenBucket globalBucket;
+    private final Cache<String, TokenBucket> customerBuckets;
+    private final ObjectProvider<OrderQueuePoller> orderQueuePoller;
+
+    private final Counter queueDepthRejections;
+    private final Counter customerRateRejections;
+    private final Counter globalRateRejections;
+
+    public OrderAdmission(ObjectProvider<OrderQueuePoller> orderQueuePoller,
+                          MeterRegistry registry,
+                          @Value("${order.admission.enabled:true}") boolean enabled,
+                          @Value("${order.admission.max-queue-depth:10000}") long maxQueueDepth,
+                          @Value("${order.admission.shed-retry-after:5s}") Duration shedRetryAfter,
+                          @Value("${order.admission.global.rate-per-second:500}") double globalRate,
+                          @Value("${order.admission.global.burst:1000}") double globalBurst,
+                          @Value("${order.admission.per-customer.rate-per-second:10}") double customerRate,
+                          @Value("${order.admission.per-customer.burst:20}") double customerBurst,
+                          @Value("${order.admission.per-customer.max-customers:100000}") long maxCustomers) {
+        this.orderQueuePoller = orderQueuePoller;
+        this.enabled = enabled;
+        this.maxQueueDepth = maxQueueDepth;
+        this.shedRetryAfter = shedRetryAfter;
+        this.customerRate = customerRate;
+        this.customerBurst = customerBurst;
+        this.globalBucket = new TokenBucket(globalRate, globalBurst);
+        // An idle bucket refills completely within burst / rate seconds, so evicting it loses nothing
+        this.customerBuckets = Caffeine.newBuilder()
+                .maximumSize(maxCustomers)
+                .expireAfterAccess(Duration.ofSeconds((long) Math.ceil(customerBurst / customerRate) + 1))
+                .build();
+
+        this.queueDepthRejections = rejectionCounter(registry, "queue_depth");
+        this.customerRateRejections = rejectionCounter(registry, "customer_rate");
+        this.globalRateRejections = rejectionCounter(registry, "global_rate");
+    }
+
+    /**
+     * Admit a single order for the given customer.
+     *
+     * @throws OverloadedException  if the processing queue is too deep
+     * @throws RateLimitedException if the customer or the service exceeded its rate
+     */
+    public void admit(String customerId) {
+        admit(Map.of(customerId, 1L));
+    }
+
+    /**
+     * Admit a batch of orders; each order counts against its customer's and the global rate.
+     * Tokens are only spent if the whole batch is admitted.
+     *
+     * @throws OverloadedException  if the processing queue is too deep
+     * @throws RateLimitedException if a customer or the service exceeded its rate
+     */
+    public void admitAll(Collection<String> customerIds) {
+        admit(customerIds.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting())));
+    }
+
+    private void admit(Map<String, Long> ordersPerCustomer) {
+        if (!enabled) {
+            return;
+        }
+
+        OrderQueuePoller poller = orderQueuePoller.getIfAvailable();
+        if (poller != null && poller.getQueueDepth() > maxQueueDepth) {
+            queueDepthRejections.increment();
+            log.warn("Shedding order request: queue depth {} exceeds {}", poller.getQueueDepth(), maxQueueDepth);
+            throw new OverloadedException("Order processing is overloaded. Please retry later.", shedRetryAfter);
+        }
+
+        // Tokens taken so far; given back if a later bucket rejects the request, so a rejected
+        // request never uses up a customer's budget
+        Map<TokenBucket, Integer> acquired = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : ordersPerCustomer.entrySet()) {
+            TokenBucket bucket = customerBuckets.get(entry.getKey(), key -> new TokenBucket(customerRate, customerBurst));
+            int permits = entry.getValue().intValue();
+            long waitNanos = bucket.tryAcquire(permits);
+            if (waitNanos > 0) {
+                release(acquired);
+                customerRateRejections.increment();
+                log.warn("Rate limiting customer {}", entry.getKey());
+                throw new RateLimitedException("Too many orders for customer " + entry.getKey() + ". Please retry later.",
+                        Duration.ofNanos(waitNanos));
+            }
+            acquired.put(bucket, permits);
+        }
+
+        int total = ordersPerCustomer.values().stream().mapToInt(Long::intValue).sum();
+        long waitNanos = globalBucket.tryAcquire(total);
+        if (waitNanos > 0) {
+            release(acquired);
+            globalRateRejections.increment();
+            log.warn("Rate limiting order creation globally");
+            throw new RateLimitedException("Too many orders. Please retry later.", Duration.ofNanos(waitNanos));
+        }
+    }
+
+    private static void release(Map<TokenBucket, Integer> acquired) {
+        acquired.forEach(TokenBucket::release);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("order.admission.rejected")
+                .description("Order creation requests rejected by admission control")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * Base class of admission rejections, carrying when a retry is worth it.
+     */
+    @Getter
+    public abstract static class AdmissionRejectedException extends RuntimeException {
+        private final Duration retryAfter;
+
+        protected AdmissionRejectedException(String message, Duration retryAfter) {
+            super(message);
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    /**
+     * Thrown when a customer or the whole service exceeded its order rate.
+     */
+    public static class RateLimitedException extends AdmissionRejectedException {
+        public RateLimitedException(String message, Duration retryAfter) {
+            super(message, retryAfter);
+        }
+    }
+
+    /**
+     * Thrown when the processing backlog is too large to accept more orders.
+     */
+    public static class OverloadedException extends AdmissionRejectedException {
+        public OverloadedException(String message, Duration retryAfter) {
+            super(message, retryAfter);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ordermanagement.admission;
+
+/**
+ * Token bucket refilled continuously at a fixed rate up to its burst capacity.
+ * A request larger than the capacity is admitted when the bucket is full and leaves
+ * the bucket in debt, so large batches are slowed down rather than rejected forever.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double ratePerSecond, double capacity) {
+        this.capacity = capacity;
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Take tokens if enough are available.
+     *
+     * @return 0 if the tokens were taken, otherwise the nanoseconds until they would be available
+     */
+    synchronized long tryAcquire(int permits) {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+
+        double required = Math.min(permits, capacity);
+        if (tokens >= required) {
+            tokens -= permits;
+            return 0;
+        }
+        return (long) Math.ceil((required - tokens) / tokensPerNano);
+    }
+
+    /**
+     * Give back tokens taken by {@link #tryAcquire(int)} for a request that was rejected afterwards.
+     */
+    synchronized void release(int permits) {
+        tokens = Math.min(capacity, tokens + permits);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ordermanagement.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ordermanagement.dto.OrderResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * In-process idempotency cache backed by Caffeine.
+ * Bounded by entry count and evicts entries a fixed time after they were written.
+ * Hit/miss statistics are published as the "idempotency" cache metrics.
+ */
+public class CaffeineIdempotencyCache implements IdempotencyCache, MeterBinder {
+
+    private final Cache<String, OrderResponse> cache;
+
+    public CaffeineIdempotencyCache(long maximumSize, Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<OrderResponse> get(String idempotencyKey) {
+        return Optional.ofNullable(cache.getIfPresent(idempotencyKey));
+    }
+
+    @Override
+    public void put(String idempotencyKey, OrderResponse order) {
+        cache.put(idempotencyKey, order);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "idempotency");
+    }
+}
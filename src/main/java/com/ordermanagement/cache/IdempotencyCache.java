@@ -0,0 +1,38 @@
+package com.ordermanagement.cache;
+
+import com.ordermanagement.dto.OrderResponse;
+
+import java.util.Optional;
+
+/**
+ * Cache of idempotency key to the order created for it.
+ * Lets client retries find their order without trying an insert. The cached response is the order
+ * as created; callers answer with the order's current state, looked up by its ID.
+ * The unique index on the idempotency key stays the source of truth; entries are only a shortcut.
+ */
+public interface IdempotencyCache {
+
+    /**
+     * Look up the order created for an idempotency key.
+     */
+    Optional<OrderResponse> get(String idempotencyKey);
+
+    /**
+     * Remember the order created for an idempotency key.
+     */
+    void put(String idempotencyKey, OrderResponse order);
+
+    /**
+     * Cache that never stores anything, used when caching is disabled.
+     */
+    IdempotencyCache NONE = new IdempotencyCache() {
+        @Override
+        public Optional<OrderResponse> get(String idempotencyKey) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void put(String idempotencyKey, OrderResponse order) {
+        }
+    };
+}
@@ -0,0 +1,101 @@
+package com.ordermanagement.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ordermanagement.dto.OrderResponse;
+import com.ordermanagement.event.OrderStatusChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of order responses keyed by order ID.
+ * Entries are dropped when an {@link OrderStatusChangedEvent} is published for the order.
+ * Orders in a terminal status (COMPLETED/FAILED) never change again and are kept for the
+ * terminal TTL; orders still moving through processing expire after the short active TTL,
+ * which also bounds staleness for transitions made on other nodes.
+ * Hit/miss statistics are published as the "orders" cache metrics.
+ */
+@Component
+public class OrderCache implements MeterBinder {
+
+    private final Cache<Long, OrderResponse> cache;
+
+    public OrderCache(@Value("${order.read-cache.maximum-size:10000}") long maximumSize,
+                      @Value("${order.read-cache.active-ttl:2s}") Duration activeTtl,
+                      @Value("${order.read-cache.terminal-ttl:10m}") Duration terminalTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new StatusAwareExpiry(activeTtl, terminalTtl))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Return the cached order, loading and caching it on a miss.
+     * Exceptions thrown by the loader propagate and nothing is cached.
+     */
+    public OrderResponse get(Long orderId, Function<Long, OrderResponse> loader) {
+        return cache.get(orderId, loader);
+    }
+
+    /**
+     * Return the cached order, or null if it is not cached. Never loads.
+     */
+    public OrderResponse getIfPresent(Long orderId) {
+        return cache.getIfPresent(orderId);
+    }
+
+    /**
+     * Drop cached entries so the next read goes to the database.
+     */
+    public void evictAll(Collection<Long> orderIds) {
+        cache.invalidateAll(orderIds);
+    }
+
+    /**
+     * Drop the cached entry of an order that changed status; the next read reloads it.
+     * Runs before other listeners, so they never read the stale entry.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        cache.invalidate(event.orderId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "orders");
+    }
+
+    /**
+     * Picks the entry lifetime from the order status at the time it is written.
+     */
+    private record StatusAwareExpiry(Duration activeTtl, Duration terminalTtl) implements Expiry<Long, OrderResponse> {
+
+        @Override
+        public long expireAfterCreate(Long orderId, OrderResponse order, long currentTime) {
+            return (order.getStatus().isTerminal() ? terminalTtl : activeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long orderId, OrderResponse order, long currentTime, long currentDuration) {
+            return expireAfterCreate(orderId, order, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long orderId, OrderResponse order, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
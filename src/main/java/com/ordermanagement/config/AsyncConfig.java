@@ -1,24 +1,70 @@
 package com.ordermanagement.config;
 
+import com.ordermanagement.pipeline.StageExecutorFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.system.JavaVersion;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
-
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
-    @Bean(name = "orderProcessorExecutor")
-    public Executor orderProcessorExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(25);
-        executor.setThreadNamePrefix("order-processor-");
-        executor.initialize();
-        return executor;
+    /**
+     * One fixed-size worker pool per order processing stage. The stage never starts more
+     * orders than it has workers, so the pool queue only absorbs hand-off jitter.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public StageExecutorFactory stageExecutorFactory() {
+        return (stageName, concurrency) -> {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(concurrency);
+            executor.setMaxPoolSize(concurrency);
+            executor.setQueueCapacity(concurrency);
+            executor.setThreadNamePrefix("order-" + stageName + "-");
+            executor.setWaitForTasksToCompleteOnShutdown(true);
+            executor.setAwaitTerminationSeconds(30);
+            executor.initialize();
+            return executor;
+        };
+    }
+
+    /**
+     * Virtual-thread stage executors used when spring.threads.virtual.enabled is set on JDK 21+.
+     * Starts one virtual thread per order and stage; concurrency is bounded by the stage's
+     * permits instead of a thread-count cap.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public StageExecutorFactory virtualThreadStageExecutorFactory() {
+        return (stageName, concurrency) -> {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("order-" + stageName + "-");
+            executor.setVirtualThreads(true);
+            executor.setTaskTerminationTimeout(30_000);
+            return executor;
+        };
+    }
+
+    /**
+     * Fails startup when virtual threads are enabled on a JDK without them. Spring Boot would
+     * silently fall back to platform threads, and the concurrency sized for virtual threads
+     * (see the virtual-threads profile) would then start hundreds of pool threads per stage.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    @ConditionalOnJava(value = JavaVersion.TWENTY_ONE, range = ConditionalOnJava.Range.OLDER_THAN)
+    static class VirtualThreadsUnavailable {
+
+        VirtualThreadsUnavailable() {
+            throw new IllegalStateException("spring.threads.virtual.enabled requires JDK 21 or later, but this is JDK "
+                    + System.getProperty("java.version") + ". Run on JDK 21+ or disable the virtual-threads profile.");
+        }
     }
 }
@@ -0,0 +1,37 @@
+package com.ordermanagement.config;
+
+import com.ordermanagement.cache.CaffeineIdempotencyCache;
+import com.ordermanagement.cache.IdempotencyCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-process cache configuration.
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Default idempotency cache backend (order.idempotency-cache.type=caffeine).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "order.idempotency-cache.type", havingValue = "caffeine", matchIfMissing = true)
+    public CaffeineIdempotencyCache caffeineIdempotencyCache(
+            @Value("${order.idempotency-cache.maximum-size:20000}") long maximumSize,
+            @Value("${order.idempotency-cache.ttl:10m}") Duration ttl) {
+        return new CaffeineIdempotencyCache(maximumSize, ttl);
+    }
+
+    /**
+     * Disables idempotency caching (order.idempotency-cache.type=none).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "order.idempotency-cache.type", havingValue = "none")
+    public IdempotencyCache noIdempotencyCache() {
+        return IdempotencyCache.NONE;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ordermanagement.config;
+
+import com.ordermanagement.json.OrderJsonModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JSON serialization configuration. Module beans are registered with the
+ * auto-configured ObjectMapper used by Spring MVC.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public OrderJsonModule orderJsonModule() {
+        return new OrderJsonModule();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ordermanagement.config;
+
+import com.ordermanagement.datasource.ReadYourWritesDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write splitting, enabled by setting {@code order.datasource.replica.jdbc-url}.
+ * Read-only transactions run on the replica pool, everything else on the primary pool
+ * configured under {@code spring.datasource}. Connections are fetched lazily, on the first
+ * statement, so the choice is made once the transaction's read-only flag is known.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.datasource.replica.jdbc-url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Replica pool, configured with Hikari properties under {@code order.datasource.replica}.
+     */
+    @Bean
+    @ConfigurationProperties("order.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setAutoCommit(false);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReadYourWritesDataSource(primaryDataSource, replicaDataSource));
+        return dataSource;
+    }
+}
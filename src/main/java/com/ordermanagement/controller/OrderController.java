@@ -1,21 +1,57 @@
 package com.ordermanagement.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ordermanagement.admission.OrderAdmission;
+import com.ordermanagement.dto.BatchCreateOrderRequest;
+import com.ordermanagement.dto.BatchCreateOrderResponse;
 import com.ordermanagement.dto.CreateOrderRequest;
 import com.ordermanagement.dto.OrderResponse;
+import com.ordermanagement.dto.OrderStatsResponse;
+import com.ordermanagement.dto.OrderSummary;
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.exception.InvalidRequestParameterException;
+import com.ordermanagement.export.OrderExportFormat;
+import com.ordermanagement.export.OrderExportWriter;
 import com.ordermanagement.service.OrderService;
+import com.ordermanagement.service.OrderStatsService;
+import com.ordermanagement.service.OrderStatusNotifier;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for order management operations.
@@ -27,7 +63,15 @@ import java.util.List;
 @Tag(name = "Order Management", description = "APIs for managing orders with async processing and idempotency")
 public class OrderController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final int EXPORT_GZIP_BUFFER_SIZE = 64 * 1024;
+
     private final OrderService orderService;
+    private final OrderStatusNotifier orderStatusNotifier;
+    private final OrderStatsService orderStatsService;
+    private final OrderAdmission orderAdmission;
+    private final ObjectMapper objectMapper;
 
     /**
      * Create a new order via the Idempotency-Key header.
@@ -40,7 +84,9 @@ public class OrderController {
     @Operation(summary = "Create a new order", description = "Creates an order and processes it asynchronously. Use Idempotency-Key header to prevent duplicates.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Order created successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid request data")
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded, see Retry-After"),
+            @ApiResponse(responseCode = "503", description = "Processing overloaded, see Retry-After")
     })
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(
@@ -50,58 +96,285 @@ public class OrderController {
         log.info("Received create order request. Customer: {}, Idempotency-Key: {}",
                 request.getCustomerId(), idempotencyKey);
 
+        orderAdmission.admit(request.getCustomerId());
         OrderResponse response = orderService.createOrder(request, idempotencyKey);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Create several orders in one request.
+     *
+     * @param request The batch of orders, each with an optional idempotency key
+     * @return Per-item results in request order
+     */
+    @Operation(summary = "Create orders in batch", description = "Creates up to " + BatchCreateOrderRequest.MAX_BATCH_SIZE + " orders in one transaction. Items whose idempotency key already exists return the existing order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Batch processed"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "429", description = "Rate limit exceeded, see Retry-After"),
+            @ApiResponse(responseCode = "503", description = "Processing overloaded, see Retry-After")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateOrderResponse> createOrders(@Valid @RequestBody BatchCreateOrderRequest request) {
+        log.info("Received batch create order request with {} orders", request.getOrders().size());
+
+        orderAdmission.admitAll(request.getOrders().stream()
+                .map(item -> item.getOrder().getCustomerId())
+                .toList());
+        BatchCreateOrderResponse response = orderService.createOrders(request.getOrders());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     /**
      * Get an order by ID.
+     * The response carries a strong ETag and Last-Modified derived from the order's update time.
+     * A request with If-None-Match or If-Modified-Since is first checked against the update time
+     * alone, and answered with 304 Not Modified without loading the order if it has not changed.
+     * If-None-Match takes precedence: when it is present, If-Modified-Since is ignored (RFC 9110).
+     * Only the ETag is exact; Last-Modified has one-second resolution and can miss a change made
+     * within the same second.
      *
-     * @param id The order ID
-     * @return The order details
+     * @param id      The order ID
+     * @param request The request, for its conditional headers
+     * @return The order details, or null when 304 Not Modified has been sent
      */
-    @Operation(summary = "Get order by ID", description = "Retrieves order details including current status")
+    @Operation(summary = "Get order by ID", description = "Retrieves order details including current status. Supports conditional requests with If-None-Match and If-Modified-Since.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order found"),
+            @ApiResponse(responseCode = "304", description = "Order not modified"),
             @ApiResponse(responseCode = "404", description = "Order not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getOrder(
-            @Parameter(description = "Order ID") @PathVariable Long id) {
+            @Parameter(description = "Order ID") @PathVariable Long id,
+            WebRequest request) {
         log.info("Received get order request. ID: {}", id);
 
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            LocalDateTime updatedAt = orderService.getOrderUpdatedAt(id);
+            if (request.checkNotModified(orderETag(id, updatedAt), lastModified(updatedAt))) {
+                return null;
+            }
+        }
+
         OrderResponse response = orderService.getOrder(id);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(orderETag(id, response.getUpdatedAt()))
+                .lastModified(lastModified(response.getUpdatedAt()))
+                .body(response);
+    }
+
+    /**
+     * Long-poll for an order to reach a status.
+     *
+     * @param id      The order ID
+     * @param waitFor The status to wait for
+     * @param timeout Maximum number of seconds to wait
+     * @return The order once it reaches the status (or a terminal status), or its current state on timeout
+     */
+    @Operation(summary = "Wait for order status", description = "Holds the request until the order reaches the given status or a terminal status, or the timeout elapses. No server thread is held while waiting.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Current order state"),
+            @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    @GetMapping(value = "/{id}", params = "waitFor")
+    public DeferredResult<OrderResponse> waitForOrderStatus(
+            @Parameter(description = "Order ID") @PathVariable Long id,
+            @Parameter(description = "Status to wait for") @RequestParam OrderStatus waitFor,
+            @Parameter(description = "Maximum seconds to wait") @RequestParam(defaultValue = "30") long timeout) {
+        log.info("Received wait for order status request. ID: {}, WaitFor: {}, Timeout: {}s", id, waitFor, timeout);
+
+        return orderStatusNotifier.awaitStatus(id, waitFor, Duration.ofSeconds(timeout));
+    }
+
+    /**
+     * Stream status changes of an order as Server-Sent Events.
+     *
+     * @param id The order ID
+     * @return Event stream that completes when the order reaches a terminal status
+     */
+    @Operation(summary = "Order status events", description = "Server-Sent Events stream: the current order first ('order' event), then every status change ('status' event)")
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(@Parameter(description = "Order ID") @PathVariable Long id) {
+        log.info("Received order events request. ID: {}", id);
+
+        return orderStatusNotifier.streamStatus(id);
     }
 
     /**
-     * Get all orders.
+     * Get a page of orders using keyset pagination.
+     * When the page is full, the cursor for the next page is returned in the X-Next-Cursor header.
      *
-     * @return List of all orders
+     * @param after Cursor from a previous page (the last order ID seen)
+     * @param limit Maximum number of orders to return
+     * @return List of orders in ascending ID order, written by the OrderJsonModule entity serializer
      */
+    @Operation(summary = "List orders", description = "Returns orders in ascending ID order. Pass the X-Next-Cursor header value as 'after' to fetch the next page.")
+    @ApiResponse(responseCode = "200", description = "A page of orders",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = OrderResponse.class))))
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        log.info("Received get all orders request");
+    public ResponseEntity<List<Order>> getAllOrders(
+            @Parameter(description = "Return orders with an ID greater than this cursor") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of orders to return") @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int limit) {
+        log.info("Received get all orders request. After: {}, Limit: {}", after, limit);
+
+        List<Order> orders = orderService.getOrders(after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!orders.isEmpty() && orders.size() >= Math.min(limit, OrderService.MAX_PAGE_SIZE)) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(orders.get(orders.size() - 1).getId()));
+        }
+        return response.body(orders);
+    }
+
+    /**
+     * Stream all orders as newline-delimited JSON.
+     *
+     * @return Streaming response body writing one order per line
+     */
+    @Operation(summary = "Stream all orders", description = "Streams every order as newline-delimited JSON (NDJSON) with constant memory usage")
+    @GetMapping(value = "/stream", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+        log.info("Received stream all orders request");
+
+        // Orders are written straight from the entity by the OrderJsonModule serializer
+        ObjectWriter writer = objectMapper.writerFor(Order.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+                orderService.streamAllOrders(order -> {
+                    try {
+                        writer.writeValue(generator, order);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
+    }
+
+    /**
+     * Export orders as a CSV or JSON Lines file, optionally gzip-compressed.
+     * Rows are written straight from a database cursor to the response, so the export runs
+     * in constant memory however many orders it contains.
+     *
+     * @param format CSV or JSONL
+     * @param from   Only orders created at or after this time (optional)
+     * @param to     Only orders created before this time (optional)
+     * @param gzip   Whether to gzip the file
+     * @return Streaming response body writing the file
+     */
+    @Operation(summary = "Export orders", description = "Streams orders created in the given range as a CSV or JSON Lines file, in ID order. Use gzip=true for a compressed file.")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @Parameter(description = "File format: csv or jsonl") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Only orders created at or after this time (ISO-8601)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Only orders created before this time (ISO-8601)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Compress the file with gzip") @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Received export request. Format: {}, From: {}, To: {}, Gzip: {}", format, from, to, gzip);
 
-        List<OrderResponse> orders = orderService.getAllOrders();
+        OrderExportFormat exportFormat = OrderExportFormat.fromParameter(format);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidRequestParameterException("'from' must be before 'to'");
+        }
 
-        return ResponseEntity.ok(orders);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, EXPORT_GZIP_BUFFER_SIZE) : outputStream;
+            try (OrderExportWriter writer = OrderExportWriter.create(exportFormat, target, objectMapper.getFactory())) {
+                orderService.exportOrders(from, to, row -> {
+                    try {
+                        writer.writeRow(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        String fileName = "orders." + exportFormat.getFileExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
     }
 
     /**
-     * Get orders by customer ID.
+     * Get a page of a customer's order history, newest first.
+     * When the page is full, the cursor for the next page is returned in the X-Next-Cursor header.
      *
      * @param customerId The customer ID
-     * @return List of orders for the customer
+     * @param status     Optional status filter
+     * @param from       Optional lower bound (inclusive) of the creation time
+     * @param to         Optional upper bound (exclusive) of the creation time
+     * @param before     Cursor from a previous page
+     * @param limit      Maximum number of orders to return
+     * @return Order summaries in descending creation order
      */
+    @Operation(summary = "Customer order history", description = "Returns a customer's orders newest first. Pass the X-Next-Cursor header value as 'before' to fetch the next page.")
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByCustomer(@PathVariable String customerId) {
+    public ResponseEntity<List<OrderSummary>> getOrdersByCustomer(
+            @PathVariable String customerId,
+            @Parameter(description = "Only orders in this status") @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "Only orders created at or after this time (ISO-8601)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Only orders created before this time (ISO-8601)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String before,
+            @Parameter(description = "Maximum number of orders to return") @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int limit) {
         log.info("Received get orders by customer request. Customer: {}", customerId);
 
-        List<OrderResponse> orders = orderService.getOrdersByCustomer(customerId);
+        List<OrderSummary> orders = orderService.getCustomerOrders(customerId, status, from, to, before, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!orders.isEmpty() && orders.size() >= Math.min(limit, OrderService.MAX_PAGE_SIZE)) {
+            response.header(NEXT_CURSOR_HEADER, OrderService.customerOrderCursor(orders.get(orders.size() - 1)));
+        }
+        return response.body(orders);
+    }
+
+    /**
+     * Get order statistics: orders currently in each status with their total value, and the
+     * orders that entered each status within a time window. Served from rollups, not the orders table.
+     *
+     * @param from Start of the window, truncated to the hour; defaults to 24 hours before 'to'
+     * @param to   End of the window; defaults to now
+     * @return Order statistics
+     */
+    @Operation(summary = "Order statistics", description = "Counts and total value (price * quantity) per status, plus throughput and an hourly breakdown over a time window.")
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStatsResponse> getOrderStats(
+            @Parameter(description = "Start of the window (ISO-8601), default 24 hours before 'to'") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the window (ISO-8601), default now") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime windowEnd = to == null ? LocalDateTime.now() : to;
+        LocalDateTime windowStart = from == null ? windowEnd.minusHours(24) : from;
+        return ResponseEntity.ok(orderStatsService.getStats(windowStart, windowEnd));
+    }
+
+    /**
+     * Strong ETag of an order version: the ID and the update time. Update times are written at the
+     * database's precision (see {@link Order#currentTimestamp()}), so the tag is the same whether the
+     * time was read back from the database or is still held in memory.
+     */
+    private static String orderETag(Long id, LocalDateTime updatedAt) {
+        return "\"" + id + "-" + updatedAt.toEpochSecond(ZoneOffset.UTC) + "." + updatedAt.getNano() + "\"";
+    }
 
-        return ResponseEntity.ok(orders);
+    private static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 }
@@ -0,0 +1,98 @@
+package com.ordermanagement.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the Hikari pools from the application's concurrency and warns at startup when a pool
+ * can be starved.
+ * <p>
+ * The threads that can hold a connection for a long time are the async task executor, which runs
+ * streamed responses (NDJSON stream, export) each inside one read-only transaction, and the
+ * scheduler, which runs the background jobs (queue poller, status writer, sweeper, archiver, stats).
+ * Pipeline stage workers hold no connection. A pool needs one connection per such thread plus
+ * {@code order.datasource.pool.request-connections} for the short transactions of API requests.
+ * <p>
+ * With {@code order.datasource.pool.size-from-concurrency} set, a pool whose maximum size is not
+ * configured explicitly is sized to exactly that, as a fixed-size pool. Otherwise the configured
+ * size is only checked, and a warning is logged if the executor and scheduler alone can take every
+ * connection.
+ */
+@Component
+@Slf4j
+public class ConnectionPoolSizing implements BeanPostProcessor {
+
+    private static final String REPLICA_BEAN = "replicaDataSource";
+
+    /**
+     * Size Hikari falls back to when none is configured.
+     */
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    private final Environment environment;
+
+    public ConnectionPoolSizing(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            String prefix = REPLICA_BEAN.equals(beanName) ? "order.datasource.replica" : "spring.datasource.hikari";
+            size(dataSource, prefix);
+        }
+        return bean;
+    }
+
+    private void size(HikariDataSource dataSource, String prefix) {
+        String pool = dataSource.getPoolName() == null ? prefix : dataSource.getPoolName();
+        int executorThreads = asyncExecutorThreads();
+        int schedulerThreads = environment.getProperty("spring.task.scheduling.pool.size", Integer.class, 1);
+        int requestConnections = environment.getProperty("order.datasource.pool.request-connections", Integer.class, 4);
+
+        if (executorThreads == Integer.MAX_VALUE) {
+            log.warn("Pool '{}': the async task executor is unbounded, so concurrent streamed responses can take "
+                    + "every connection; set spring.task.execution.simple.concurrency-limit", pool);
+            return;
+        }
+
+        int required = executorThreads + schedulerThreads + requestConnections;
+        boolean sizeFromConcurrency = environment.getProperty(
+                "order.datasource.pool.size-from-concurrency", Boolean.class, false);
+        if (sizeFromConcurrency && !environment.containsProperty(prefix + ".maximum-pool-size")) {
+            dataSource.setMaximumPoolSize(required);
+            dataSource.setMinimumIdle(required);
+            log.info("Pool '{}' sized to {} connections: {} async executor + {} scheduler + {} request",
+                    pool, required, executorThreads, schedulerThreads, requestConnections);
+            return;
+        }
+
+        int maximumPoolSize = dataSource.getMaximumPoolSize() > 0
+                ? dataSource.getMaximumPoolSize()
+                : HIKARI_DEFAULT_POOL_SIZE;
+        if (executorThreads + schedulerThreads >= maximumPoolSize) {
+            log.warn("Pool '{}' has {} connections, but the async executor ({} threads) and scheduler ({} threads) "
+                            + "can hold {} at once and starve API requests; size the pool to at least {}",
+                    pool, maximumPoolSize, executorThreads, schedulerThreads,
+                    executorThreads + schedulerThreads, required);
+        }
+    }
+
+    /**
+     * Maximum number of threads of the application task executor, or {@link Integer#MAX_VALUE} if unbounded.
+     * A thread pool with an unbounded queue never grows past its core size.
+     */
+    private int asyncExecutorThreads() {
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            int limit = environment.getProperty("spring.task.execution.simple.concurrency-limit", Integer.class, -1);
+            return limit > 0 ? limit : Integer.MAX_VALUE;
+        }
+        int coreSize = environment.getProperty("spring.task.execution.pool.core-size", Integer.class, 8);
+        int maxSize = environment.getProperty("spring.task.execution.pool.max-size", Integer.class, Integer.MAX_VALUE);
+        int queueCapacity = environment.getProperty("spring.task.execution.pool.queue-capacity", Integer.class, Integer.MAX_VALUE);
+        return queueCapacity == Integer.MAX_VALUE ? coreSize : Math.max(coreSize, maxSize);
+    }
+}
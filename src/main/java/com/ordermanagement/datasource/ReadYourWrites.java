@@ -0,0 +1,65 @@
+package com.ordermanagement.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ordermanagement.event.OrderStatusChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Remembers orders and customers written by this node within the read-your-writes window,
+ * and sends reads of them to the primary instead of a possibly lagging replica.
+ * Without a replica configured, all reads go to the primary anyway and this has no effect.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final long MAXIMUM_SIZE = 100_000;
+
+    private final Cache<Long, Boolean> recentOrders;
+    private final Cache<String, Boolean> recentCustomers;
+
+    public ReadYourWrites(@Value("${order.datasource.read-your-writes-window:5s}") Duration window) {
+        this.recentOrders = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(window)
+                .build();
+        this.recentCustomers = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Remember that a customer has just placed an order.
+     */
+    public void recordCustomerWrite(String customerId) {
+        recentCustomers.put(customerId, Boolean.TRUE);
+    }
+
+    /**
+     * Remember every order that was just created or changed status.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        recentOrders.put(event.orderId(), Boolean.TRUE);
+    }
+
+    /**
+     * Run a read of an order, on the primary if the order was written within the window.
+     */
+    public <T> T readOrder(Long orderId, Supplier<T> read) {
+        return recentOrders.getIfPresent(orderId) != null ? ReadYourWritesDataSource.onPrimary(read) : read.get();
+    }
+
+    /**
+     * Run a read of a customer's orders, on the primary if the customer placed an order within the window.
+     */
+    public <T> T readCustomer(String customerId, Supplier<T> read) {
+        return recentCustomers.getIfPresent(customerId) != null ? ReadYourWritesDataSource.onPrimary(read) : read.get();
+    }
+}
@@ -0,0 +1,45 @@
+package com.ordermanagement.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Data source for read-only transactions: the replica, unless the current thread asked for
+ * the primary with {@link #onPrimary(Supplier)} because it reads data it has just written.
+ */
+public class ReadYourWritesDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = ThreadLocal.withInitial(() -> false);
+
+    private enum Target { PRIMARY, REPLICA }
+
+    public ReadYourWritesDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Run the given read on the primary. Takes effect for transactions that have not yet obtained
+     * a connection, which with lazy connections means any transaction that has not run a statement.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (FORCE_PRIMARY.get()) {
+            return read.get();
+        }
+        FORCE_PRIMARY.set(true);
+        try {
+            return read.get();
+        } finally {
+            FORCE_PRIMARY.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return FORCE_PRIMARY.get() ? Target.PRIMARY : Target.REPLICA;
+    }
+}
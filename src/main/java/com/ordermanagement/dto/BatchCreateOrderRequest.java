@@ -0,0 +1,45 @@
+package com.ordermanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for creating several orders in one call.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateOrderRequest {
+
+    public static final int MAX_BATCH_SIZE = 500;
+
+    @NotEmpty(message = "At least one order is required")
+    @Size(max = MAX_BATCH_SIZE, message = "A batch cannot contain more than " + MAX_BATCH_SIZE + " orders")
+    private List<@Valid @NotNull Item> orders;
+
+    /**
+     * A single order in the batch with its own optional idempotency key.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @Size(max = 255, message = "Idempotency key cannot exceed 255 characters")
+        private String idempotencyKey;
+
+        @NotNull(message = "Order is required")
+        @Valid
+        private CreateOrderRequest order;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ordermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for batch order creation, with one result per submitted item in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateOrderResponse {
+
+    private int createdCount;
+    private int existingCount;
+    private List<Result> results;
+
+    /**
+     * Outcome of a single batch item.
+     */
+    public enum Outcome {
+        CREATED, // A new order was created
+        EXISTING // The idempotency key matched an existing order
+    }
+
+    /**
+     * Result for a single batch item.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private int index;
+        private String idempotencyKey;
+        private Outcome outcome;
+        private OrderResponse order;
+    }
+}
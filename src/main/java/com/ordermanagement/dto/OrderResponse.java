@@ -28,6 +28,8 @@ public class OrderResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String failureReason;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
 
     /**
      * Factory method to create OrderResponse from Order entity.
@@ -43,6 +45,8 @@ public class OrderResponse {
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
                 .failureReason(order.getFailureReason())
+                .attempts(order.getAttempts())
+                .nextAttemptAt(order.getNextAttemptAt())
                 .build();
     }
 }
@@ -0,0 +1,82 @@
+package com.ordermanagement.dto;
+
+import com.ordermanagement.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for order statistics: current totals per status and throughput over a time window.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatsResponse {
+
+    /**
+     * Start of the window, truncated to the hour.
+     */
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    /**
+     * Orders currently in each status.
+     */
+    private Map<OrderStatus, Totals> current;
+
+    /**
+     * Orders that entered each status within the window.
+     */
+    private Map<OrderStatus, Throughput> window;
+
+    /**
+     * Per-hour breakdown of the window, oldest first.
+     */
+    private List<HourlyBucket> hourly;
+
+    /**
+     * Order count and total value (sum of price * quantity).
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Totals {
+        private long count;
+        private BigDecimal amount;
+    }
+
+    /**
+     * Transitions into a status within the window.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Throughput {
+        private long count;
+        private BigDecimal amount;
+        private double perMinute;
+    }
+
+    /**
+     * Transitions into a status within one hour.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HourlyBucket {
+        private LocalDateTime hour;
+        private OrderStatus status;
+        private long count;
+        private BigDecimal amount;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ordermanagement.dto;
+
+import com.ordermanagement.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight order view for the customer order history.
+ * Selected directly as a query projection, so no entity is loaded.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummary {
+
+    private Long id;
+    private String productName;
+    private Integer quantity;
+    private BigDecimal price;
+    private OrderStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -5,9 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Order entity representing a customer order in the system.
@@ -15,8 +17,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "orders", indexes = {
         @Index(name = "idx_idempotency_key", columnList = "idempotencyKey", unique = true),
-        @Index(name = "idx_customer_id", columnList = "customerId"),
-        @Index(name = "idx_status", columnList = "status")
+        @Index(name = "idx_customer_created_at", columnList = "customerId, createdAt, id"),
+        @Index(name = "idx_status", columnList = "status"),
+        @Index(name = "idx_status_updated_at", columnList = "status, updatedAt")
 })
 @Data
 @Builder
@@ -24,8 +27,15 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Order {
 
+    public static final int FAILURE_REASON_LENGTH = 500;
+
+    /**
+     * Sequence-generated with a pooled optimizer: one sequence call reserves
+     * {@code allocationSize} IDs, which also lets Hibernate batch inserts.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -52,13 +62,46 @@ public class Order {
 
     private LocalDateTime updatedAt;
 
-    @Column(length = 500)
+    /**
+     * Why the last attempt failed. Starts with
+     * {@link com.ordermanagement.service.OrderProcessor#RETRIES_EXHAUSTED_PREFIX} when the order
+     * is FAILED because it ran out of retry attempts.
+     */
+    @Column(length = FAILURE_REASON_LENGTH)
     private String failureReason;
 
+    /**
+     * Number of processing attempts that failed so far.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int attempts;
+
+    /**
+     * When a failed order becomes due for its next attempt; null unless a retry is pending.
+     */
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Order value: price * quantity.
+     */
+    public BigDecimal getAmount() {
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+
+    /**
+     * The current time at the database's microsecond precision. Order timestamps are written
+     * already truncated, so the database never rounds them and a time held in memory equals the
+     * one read back (which ETags and the status guards rely on).
+     */
+    public static LocalDateTime currentTimestamp() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = currentTimestamp();
+        updatedAt = createdAt;
         if (status == null) {
             status = OrderStatus.CREATED;
         }
@@ -66,6 +109,6 @@ public class Order {
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = currentTimestamp();
     }
 }
@@ -0,0 +1,83 @@
+package com.ordermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A COMPLETED or FAILED order moved out of the {@code orders} table by the order archiver.
+ * Keeps the order's ID and columns unchanged, so archived orders read exactly like live ones.
+ */
+@Entity
+@Table(name = "orders_archive")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderArchive {
+
+    /**
+     * The original order ID.
+     */
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String customerId;
+
+    @Column(nullable = false)
+    private String productName;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Column(length = 500)
+    private String failureReason;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Rebuild the order as it was when it was archived (detached, never persisted).
+     */
+    public Order toOrder() {
+        return Order.builder()
+                .id(id)
+                .customerId(customerId)
+                .productName(productName)
+                .quantity(quantity)
+                .price(price)
+                .status(status)
+                .idempotencyKey(idempotencyKey)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .failureReason(failureReason)
+                .attempts(attempts)
+                .nextAttemptAt(nextAttemptAt)
+                .build();
+    }
+}
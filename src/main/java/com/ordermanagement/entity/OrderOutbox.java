@@ -0,0 +1,73 @@
+package com.ordermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry announcing that an order was created and is ready for processing.
+ * Written in the same transaction as the order, so an entry is visible exactly
+ * when its order is committed. Entries are deleted once the order is claimed.
+ * An entry is not claimed before {@code availableAt}, which makes the outbox the
+ * delayed queue for retries as well.
+ */
+@Entity
+@Table(name = "order_outbox", indexes = {
+        @Index(name = "idx_order_outbox_order_id", columnList = "orderId"),
+        @Index(name = "idx_order_outbox_available_at", columnList = "availableAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+    @SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    private LocalDateTime availableAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (availableAt == null) {
+            availableAt = createdAt;
+        }
+    }
+
+    /**
+     * Build an outbox entry for the given order, available immediately.
+     */
+    public static OrderOutbox forOrder(Long orderId) {
+        return OrderOutbox.builder()
+                .orderId(orderId)
+                .build();
+    }
+
+    /**
+     * Build an outbox entry for the given order that is not claimed before the given time.
+     */
+    public static OrderOutbox forOrderAt(Long orderId, LocalDateTime availableAt) {
+        return OrderOutbox.builder()
+                .orderId(orderId)
+                .availableAt(availableAt)
+                .build();
+    }
+}
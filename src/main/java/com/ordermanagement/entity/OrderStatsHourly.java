@@ -0,0 +1,53 @@
+package com.ordermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Rollup of the orders that entered a status within one hour, and their total value.
+ * Used to answer throughput questions over a time window without scanning the orders table.
+ */
+@Entity
+@Table(name = "order_stats_hourly")
+@IdClass(OrderStatsHourly.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatsHourly {
+
+    /**
+     * Start of the hour, truncated.
+     */
+    @Id
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    /**
+     * Composite primary key: one row per hour and status.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDateTime bucketStart;
+        private OrderStatus status;
+    }
+}
@@ -7,5 +7,12 @@ public enum OrderStatus {
     CREATED, // Order received, waiting to be processed
     PROCESSING, // Order is being processed
     COMPLETED, // Order processed successfully
-    FAILED // Order processing failed
+    FAILED; // Order processing failed
+
+    /**
+     * Whether the order can no longer change status.
+     */
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
 }
@@ -0,0 +1,34 @@
+package com.ordermanagement.event;
+
+import com.ordermanagement.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published in-process whenever an order moves to a new status.
+ * Events raised inside a transaction are delivered to transactional listeners after commit.
+ *
+ * @param orderId        The order ID
+ * @param previousStatus The status the order left; null for a newly created order
+ * @param status         The status the order entered
+ * @param changedAt      When the transition happened
+ * @param amount         Order value (price * quantity); null when the publisher does not know it
+ */
+public record OrderStatusChangedEvent(Long orderId,
+                                      OrderStatus previousStatus,
+                                      OrderStatus status,
+                                      LocalDateTime changedAt,
+                                      BigDecimal amount) {
+
+    public OrderStatusChangedEvent(Long orderId, OrderStatus previousStatus, OrderStatus status, LocalDateTime changedAt) {
+        this(orderId, previousStatus, status, changedAt, null);
+    }
+
+    /**
+     * Event for a newly created order.
+     */
+    public static OrderStatusChangedEvent created(Long orderId, LocalDateTime createdAt, BigDecimal amount) {
+        return new OrderStatusChangedEvent(orderId, null, OrderStatus.CREATED, createdAt, amount);
+    }
+}
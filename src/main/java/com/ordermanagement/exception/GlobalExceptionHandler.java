@@ -1,16 +1,22 @@
 package com.ordermanagement.exception;
 
+import com.ordermanagement.admission.OrderAdmission;
 import com.ordermanagement.service.OrderService;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -20,6 +26,9 @@ import java.util.Map;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+    private static final String IDEMPOTENCY_KEY_COLUMN = "idempotency_key";
+
     /**
      * Handle order not found exceptions.
      */
@@ -60,6 +69,71 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * Handle malformed request parameters, e.g. an unknown status or an invalid cursor.
+     * Other IllegalArgumentExceptions are bugs and end up in the generic handler.
+     */
+    @ExceptionHandler({MethodArgumentTypeMismatchException.class, InvalidRequestParameterException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequest(Exception ex) {
+        log.error("Bad request: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message(ex instanceof MethodArgumentTypeMismatchException mismatch
+                        ? "Invalid value for parameter '" + mismatch.getName() + "'"
+                        : ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    /**
+     * Handle a violation of the idempotency key's unique index, e.g. two batches racing to create
+     * the same key. The request can be retried safely and will then return the existing order.
+     * Any other integrity violation is a bug, not a conflict, and is answered like any unexpected error.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (!isIdempotencyKeyConflict(ex)) {
+            return handleGenericException(ex);
+        }
+        log.warn("Idempotency key conflict: {}", ex.getMostSpecificCause().getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Conflict")
+                .message("The request conflicted with a concurrent request. Please retry.")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Handle requests rejected by rate limiting (429) or load shedding (503),
+     * telling the client when to retry.
+     */
+    @ExceptionHandler(OrderAdmission.AdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissionRejected(OrderAdmission.AdmissionRejectedException ex) {
+        HttpStatus status = ex instanceof OrderAdmission.OverloadedException
+                ? HttpStatus.SERVICE_UNAVAILABLE
+                : HttpStatus.TOO_MANY_REQUESTS;
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(error);
+    }
+
     /**
      * Handle all other exceptions.
      */
@@ -77,6 +151,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    /**
+     * Whether the violation is a duplicate idempotency key. Matched on the unique violation SQLState and
+     * the column, which both PostgreSQL and H2 name in the constraint or the error message.
+     */
+    private static boolean isIdempotencyKeyConflict(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return UNIQUE_VIOLATION_SQL_STATE.equals(violation.getSQLState())
+                        && (mentionsIdempotencyKey(violation.getConstraintName())
+                        || mentionsIdempotencyKey(violation.getSQLException().getMessage()));
+            }
+        }
+        return false;
+    }
+
+    private static boolean mentionsIdempotencyKey(String text) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(IDEMPOTENCY_KEY_COLUMN);
+    }
+
     /**
      * Error response structure.
      */
@@ -0,0 +1,13 @@
+package com.ordermanagement.exception;
+
+/**
+ * A request parameter that is well-formed for its type but not acceptable, e.g. a malformed
+ * page cursor, an empty time window or an unsupported export format. Answered with 400 and the message,
+ * so the message must be meant for the client.
+ */
+public class InvalidRequestParameterException extends IllegalArgumentException {
+
+    public InvalidRequestParameterException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ordermanagement.export;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Base for export writers: resolves the result set index of every column once, on the first row,
+ * and then writes each row column by column.
+ */
+abstract class ColumnarOrderExportWriter implements OrderExportWriter {
+
+    static final OrderExportColumn[] COLUMNS = OrderExportColumn.values();
+
+    private int[] columnIndexes;
+
+    @Override
+    public final void writeRow(ResultSet row) throws SQLException, IOException {
+        if (columnIndexes == null) {
+            columnIndexes = new int[COLUMNS.length];
+            for (int i = 0; i < COLUMNS.length; i++) {
+                columnIndexes[i] = row.findColumn(COLUMNS[i].columnLabel());
+            }
+        }
+
+        startRow();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            writeColumn(i, COLUMNS[i], row, columnIndexes[i]);
+        }
+        endRow();
+    }
+
+    protected abstract void startRow() throws IOException;
+
+    /**
+     * Write one column of the current row.
+     *
+     * @param position    Position of the column in the output, starting at 0
+     * @param column      The column
+     * @param row         The result set, positioned on the row
+     * @param columnIndex Index of the column in the result set
+     */
+    protected abstract void writeColumn(int position, OrderExportColumn column, ResultSet row, int columnIndex)
+            throws SQLException, IOException;
+
+    protected abstract void endRow() throws IOException;
+}
@@ -0,0 +1,107 @@
+package com.ordermanagement.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * RFC 4180 CSV with a header line. Nulls are written as empty fields; values containing
+ * a separator, quote or line break are quoted.
+ */
+class CsvOrderExportWriter extends ColumnarOrderExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+
+    CsvOrderExportWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(COLUMNS[i].fieldName());
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    protected void startRow() {
+    }
+
+    @Override
+    protected void writeColumn(int position, OrderExportColumn column, ResultSet row, int columnIndex)
+            throws SQLException, IOException {
+        if (position > 0) {
+            writer.write(',');
+        }
+        switch (column.type()) {
+            case LONG -> {
+                long value = row.getLong(columnIndex);
+                if (!row.wasNull()) {
+                    writer.write(Long.toString(value));
+                }
+            }
+            case DECIMAL -> {
+                BigDecimal value = row.getBigDecimal(columnIndex);
+                if (value != null) {
+                    writer.write(value.toPlainString());
+                }
+            }
+            case STRING -> writeString(row.getString(columnIndex));
+            case TIMESTAMP -> {
+                LocalDateTime value = row.getObject(columnIndex, LocalDateTime.class);
+                if (value != null) {
+                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(value, writer);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void endRow() throws IOException {
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuoting(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
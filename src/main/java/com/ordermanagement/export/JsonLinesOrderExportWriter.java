@@ -0,0 +1,73 @@
+package com.ordermanagement.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Newline-delimited JSON, one object per order with the field names of the order API.
+ */
+class JsonLinesOrderExportWriter extends ColumnarOrderExportWriter {
+
+    private final JsonGenerator generator;
+
+    JsonLinesOrderExportWriter(JsonGenerator generator) {
+        // Rows are separated by the newline written in endRow, not the default space between root values
+        this.generator = generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    protected void startRow() throws IOException {
+        generator.writeStartObject();
+    }
+
+    @Override
+    protected void writeColumn(int position, OrderExportColumn column, ResultSet row, int columnIndex)
+            throws SQLException, IOException {
+        generator.writeFieldName(column.fieldName());
+        switch (column.type()) {
+            case LONG -> {
+                long value = row.getLong(columnIndex);
+                if (row.wasNull()) {
+                    generator.writeNull();
+                } else {
+                    generator.writeNumber(value);
+                }
+            }
+            case DECIMAL -> {
+                BigDecimal value = row.getBigDecimal(columnIndex);
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeNumber(value);
+                }
+            }
+            case STRING -> generator.writeString(row.getString(columnIndex));
+            case TIMESTAMP -> {
+                LocalDateTime value = row.getObject(columnIndex, LocalDateTime.class);
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    // Always with seconds, like the order API; toString() drops them at whole minutes
+                    generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void endRow() throws IOException {
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
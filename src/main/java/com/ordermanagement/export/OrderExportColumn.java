@@ -0,0 +1,45 @@
+package com.ordermanagement.export;
+
+/**
+ * Columns of an order export, in output order.
+ * Field names match {@link com.ordermanagement.dto.OrderResponse}.
+ */
+enum OrderExportColumn {
+
+    ID("id", "id", Type.LONG),
+    CUSTOMER_ID("customerId", "customer_id", Type.STRING),
+    PRODUCT_NAME("productName", "product_name", Type.STRING),
+    QUANTITY("quantity", "quantity", Type.LONG),
+    PRICE("price", "price", Type.DECIMAL),
+    STATUS("status", "status", Type.STRING),
+    IDEMPOTENCY_KEY("idempotencyKey", "idempotency_key", Type.STRING),
+    FAILURE_REASON("failureReason", "failure_reason", Type.STRING),
+    ATTEMPTS("attempts", "attempts", Type.LONG),
+    NEXT_ATTEMPT_AT("nextAttemptAt", "next_attempt_at", Type.TIMESTAMP),
+    CREATED_AT("createdAt", "created_at", Type.TIMESTAMP),
+    UPDATED_AT("updatedAt", "updated_at", Type.TIMESTAMP);
+
+    enum Type { LONG, DECIMAL, STRING, TIMESTAMP }
+
+    private final String fieldName;
+    private final String columnLabel;
+    private final Type type;
+
+    OrderExportColumn(String fieldName, String columnLabel, Type type) {
+        this.fieldName = fieldName;
+        this.columnLabel = columnLabel;
+        this.type = type;
+    }
+
+    String fieldName() {
+        return fieldName;
+    }
+
+    String columnLabel() {
+        return columnLabel;
+    }
+
+    Type type() {
+        return type;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ordermanagement.export;
+
+import com.ordermanagement.exception.InvalidRequestParameterException;
+
+import java.util.Locale;
+
+/**
+ * File formats supported by the order export.
+ */
+public enum OrderExportFormat {
+
+    CSV("text/csv", "csv"),
+    JSONL("application/x-ndjson", "jsonl");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    OrderExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Resolve a format from a request parameter, ignoring case.
+     *
+     * @throws InvalidRequestParameterException if the format is not supported
+     */
+    public static OrderExportFormat fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestParameterException("Unsupported export format: " + value + " (use csv or jsonl)");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ordermanagement.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes exported orders straight from a JDBC result set to an output stream,
+ * without building an object per order. Closing the writer flushes and closes the stream.
+ */
+public interface OrderExportWriter extends Closeable {
+
+    /**
+     * Write the current row of the result set.
+     */
+    void writeRow(ResultSet row) throws SQLException, IOException;
+
+    /**
+     * Create a writer for the given format.
+     */
+    static OrderExportWriter create(OrderExportFormat format, OutputStream outputStream,
+                                    JsonFactory jsonFactory) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvOrderExportWriter(outputStream);
+            case JSONL -> new JsonLinesOrderExportWriter(jsonFactory.createGenerator(outputStream));
+        };
+    }
+}
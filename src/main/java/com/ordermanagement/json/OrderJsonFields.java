@@ -0,0 +1,133 @@
+package com.ordermanagement.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.ordermanagement.entity.OrderStatus;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Pre-encoded field names and status values of the order JSON, and writers for its value types.
+ * Field names and statuses are quoted and escaped once; timestamps are formatted into a per-thread
+ * buffer, so writing an order allocates next to nothing.
+ */
+final class OrderJsonFields {
+
+    static final SerializableString ID = new SerializedString("id");
+    static final SerializableString CUSTOMER_ID = new SerializedString("customerId");
+    static final SerializableString PRODUCT_NAME = new SerializedString("productName");
+    static final SerializableString QUANTITY = new SerializedString("quantity");
+    static final SerializableString PRICE = new SerializedString("price");
+    static final SerializableString STATUS = new SerializedString("status");
+    static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    static final SerializableString FAILURE_REASON = new SerializedString("failureReason");
+    static final SerializableString ATTEMPTS = new SerializedString("attempts");
+    static final SerializableString NEXT_ATTEMPT_AT = new SerializedString("nextAttemptAt");
+
+    private static final Map<OrderStatus, SerializableString> STATUS_VALUES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        for (OrderStatus status : OrderStatus.values()) {
+            STATUS_VALUES.put(status, new SerializedString(status.name()));
+        }
+    }
+
+    /**
+     * Long enough for "yyyy-MM-ddTHH:mm:ss.nnnnnnnnn".
+     */
+    private static final ThreadLocal<char[]> TIMESTAMP_BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
+    private OrderJsonFields() {
+    }
+
+    static void writeNumber(JsonGenerator generator, Number value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.longValue());
+        }
+    }
+
+    static void writeDecimal(JsonGenerator generator, BigDecimal value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    static void writeStatus(JsonGenerator generator, OrderStatus status) throws IOException {
+        if (status == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(STATUS_VALUES.get(status));
+        }
+    }
+
+    /**
+     * Write a timestamp as the mapper is configured to. With {@code WRITE_DATES_AS_TIMESTAMPS}
+     * disabled (the Spring Boot default) it is written exactly as
+     * {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} formats it, which is what Jackson's JavaTimeModule
+     * writes then: seconds are always present and the fraction is omitted when zero and otherwise
+     * trimmed of trailing zeros. Otherwise the mapper's own LocalDateTime serializer is used.
+     */
+    static void writeTimestamp(JsonGenerator generator, SerializerProvider provider, LocalDateTime value)
+            throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value, generator);
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed and extended years are rare enough to take the formatter's path
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+
+        char[] buffer = TIMESTAMP_BUFFER.get();
+        int length = appendDigits(buffer, 0, year, 4);
+        buffer[length++] = '-';
+        length = appendDigits(buffer, length, value.getMonthValue(), 2);
+        buffer[length++] = '-';
+        length = appendDigits(buffer, length, value.getDayOfMonth(), 2);
+        buffer[length++] = 'T';
+        length = appendDigits(buffer, length, value.getHour(), 2);
+        buffer[length++] = ':';
+        length = appendDigits(buffer, length, value.getMinute(), 2);
+        buffer[length++] = ':';
+        length = appendDigits(buffer, length, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano != 0) {
+            buffer[length++] = '.';
+            length = appendDigits(buffer, length, nano, 9);
+            while (buffer[length - 1] == '0') {
+                length--;
+            }
+        }
+        generator.writeString(buffer, 0, length);
+    }
+
+    /**
+     * Append a non-negative value as exactly {@code width} digits, zero-padded.
+     */
+    private static int appendDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + width;
+    }
+}
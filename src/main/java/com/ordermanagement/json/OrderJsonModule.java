@@ -0,0 +1,22 @@
+package com.ordermanagement.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.ordermanagement.dto.OrderResponse;
+import com.ordermanagement.entity.Order;
+
+/**
+ * Jackson module with hand-written serializers for orders, the payload of every read endpoint.
+ * They write pre-encoded field names and status values and format timestamps without intermediate
+ * strings, instead of reflecting over the bean and looking up a serializer per field.
+ * The output matches the default Spring Boot ObjectMapper (ISO timestamps, nulls included), and
+ * timestamps follow the mapper's {@code WRITE_DATES_AS_TIMESTAMPS} setting; other per-mapper settings
+ * such as {@code spring.jackson.default-property-inclusion} do not apply to orders.
+ */
+public class OrderJsonModule extends SimpleModule {
+
+    public OrderJsonModule() {
+        super(OrderJsonModule.class.getSimpleName());
+        addSerializer(OrderResponse.class, new OrderResponseSerializer());
+        addSerializer(Order.class, new OrderEntitySerializer());
+    }
+}
@@ -0,0 +1,48 @@
+package com.ordermanagement.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.ordermanagement.dto.OrderResponse;
+
+import java.io.IOException;
+
+import static com.ordermanagement.json.OrderJsonFields.*;
+
+/**
+ * Writes an {@link OrderResponse} field by field, in place of Jackson's reflective bean serializer.
+ */
+class OrderResponseSerializer extends StdSerializer<OrderResponse> {
+
+    OrderResponseSerializer() {
+        super(OrderResponse.class);
+    }
+
+    @Override
+    public void serialize(OrderResponse order, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(order);
+        generator.writeFieldName(ID);
+        writeNumber(generator, order.getId());
+        generator.writeFieldName(CUSTOMER_ID);
+        generator.writeString(order.getCustomerId());
+        generator.writeFieldName(PRODUCT_NAME);
+        generator.writeString(order.getProductName());
+        generator.writeFieldName(QUANTITY);
+        writeNumber(generator, order.getQuantity());
+        generator.writeFieldName(PRICE);
+        writeDecimal(generator, order.getPrice());
+        generator.writeFieldName(STATUS);
+        writeStatus(generator, order.getStatus());
+        generator.writeFieldName(CREATED_AT);
+        writeTimestamp(generator, provider, order.getCreatedAt());
+        generator.writeFieldName(UPDATED_AT);
+        writeTimestamp(generator, provider, order.getUpdatedAt());
+        generator.writeFieldName(FAILURE_REASON);
+        generator.writeString(order.getFailureReason());
+        generator.writeFieldName(ATTEMPTS);
+        generator.writeNumber(order.getAttempts());
+        generator.writeFieldName(NEXT_ATTEMPT_AT);
+        writeTimestamp(generator, provider, order.getNextAttemptAt());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,163 @@
+package com.ordermanagement.metrics;
+
+import com.ordermanagement.entity.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Timers for the order pipeline, published with percentile histograms so latency
+ * distributions can be aggregated across nodes in Prometheus.
+ *
+ * <ul>
+ *   <li>{@code order.create.stage{stage}} - createOrder split into idempotency lookup and insert</li>
+ *   <li>{@code order.processing.queue.wait} - from an order becoming due (created, retry due or reclaimed)
+ *   until it is claimed for processing</li>
+ *   <li>{@code order.processing.execution{outcome}} - time an order spends in the processing pipeline</li>
+ *   <li>{@code order.processing.stage{stage}} - time one pipeline stage spends on an order</li>
+ *   <li>{@code order.status.duration{status}} - time an order spent in a status before leaving it</li>
+ * </ul>
+ * Also counts {@code order.recovery.reclaimed{status}}, stale orders re-enqueued by the recovery sweeper,
+ * {@code order.processing.retries{outcome}}, failed attempts that were rescheduled or exhausted,
+ * {@code order.processing.stage.rejected{stage}}, orders a stage executor refused to run,
+ * and {@code order.status.conflicts{status}}, status changes dropped because the order had already left
+ * the expected status or was updated since it was read.
+ */
+@Component
+public class OrderMetrics {
+
+    public static final String STAGE_IDEMPOTENCY_LOOKUP = "idempotency_lookup";
+    public static final String STAGE_INSERT = "insert";
+    public static final String RETRY_SCHEDULED = "scheduled";
+    public static final String RETRY_EXHAUSTED = "exhausted";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> createStageTimers = new HashMap<>();
+    private final Timer queueWaitTimer;
+    private final Map<OrderStatus, Timer> executionTimers = new EnumMap<>(OrderStatus.class);
+    private final Map<OrderStatus, Timer> statusDurationTimers = new EnumMap<>(OrderStatus.class);
+    private final Map<OrderStatus, Counter> reclaimedCounters = new EnumMap<>(OrderStatus.class);
+    private final Map<String, Counter> retryCounters = new HashMap<>();
+    private final Map<OrderStatus, Counter> statusConflictCounters = new EnumMap<>(OrderStatus.class);
+    private final Map<String, Timer> processingStageTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> stageRejectionCounters = new ConcurrentHashMap<>();
+
+    public OrderMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (String stage : List.of(STAGE_IDEMPOTENCY_LOOKUP, STAGE_INSERT)) {
+            createStageTimers.put(stage, timer("order.create.stage", "Latency of one createOrder stage")
+                    .tag("stage", stage)
+                    .register(registry));
+        }
+        queueWaitTimer = timer("order.processing.queue.wait", "Time from an order becoming due until it is claimed for processing")
+                .register(registry);
+        for (OrderStatus status : OrderStatus.values()) {
+            executionTimers.put(status, timer("order.processing.execution", "Time an order spends in the processing pipeline")
+                    .tag("outcome", status.name())
+                    .register(registry));
+            statusDurationTimers.put(status, timer("order.status.duration", "Time an order spent in a status")
+                    .tag("status", status.name())
+                    .register(registry));
+            reclaimedCounters.put(status, Counter.builder("order.recovery.reclaimed")
+                    .description("Stale orders re-enqueued by the recovery sweeper, by the status they were stuck in")
+                    .tag("status", status.name())
+                    .register(registry));
+            statusConflictCounters.put(status, Counter.builder("order.status.conflicts")
+                    .description("Status changes dropped because the order was no longer in the expected status or was updated since it was read, by the status it was expected in")
+                    .tag("status", status.name())
+                    .register(registry));
+        }
+        for (String outcome : List.of(RETRY_SCHEDULED, RETRY_EXHAUSTED)) {
+            retryCounters.put(outcome, Counter.builder("order.processing.retries")
+                    .description("Transient processing failures, by whether a retry was scheduled or attempts were exhausted")
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Time one stage of order creation.
+     */
+    public <T> T recordCreateStage(String stage, Supplier<T> step) {
+        return createStageTimers.get(stage).record(step);
+    }
+
+    /**
+     * Record how long a due order waited before it was claimed for processing.
+     */
+    public void recordQueueWait(Duration wait) {
+        queueWaitTimer.record(wait);
+    }
+
+    /**
+     * Record how long a worker spent processing an order.
+     */
+    public void recordExecution(Duration execution, OrderStatus outcome) {
+        executionTimers.get(outcome).record(execution);
+    }
+
+    /**
+     * Record how long a pipeline stage spent on an order.
+     */
+    public void recordStage(String stage, Duration duration) {
+        processingStageTimers.computeIfAbsent(stage, name -> timer("order.processing.stage", "Time one pipeline stage spends on an order")
+                        .tag("stage", name)
+                        .register(registry))
+                .record(duration);
+    }
+
+    /**
+     * Count an order a pipeline stage's executor refused to run.
+     */
+    public void recordStageRejected(String stage) {
+        stageRejectionCounters.computeIfAbsent(stage, name -> Counter.builder("order.processing.stage.rejected")
+                        .description("Orders a pipeline stage's executor refused to run")
+                        .tag("stage", name)
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * Record how long an order stayed in a status before moving on.
+     */
+    public void recordTimeInStatus(OrderStatus status, Duration duration) {
+        statusDurationTimers.get(status).record(duration);
+    }
+
+    /**
+     * Count a stale order that was re-enqueued from the given status.
+     */
+    public void recordReclaimed(OrderStatus stuckStatus) {
+        reclaimedCounters.get(stuckStatus).increment();
+    }
+
+    /**
+     * Count a transient failure that was either rescheduled or ran out of attempts.
+     */
+    public void recordRetry(String outcome) {
+        retryCounters.get(outcome).increment();
+    }
+
+    /**
+     * Count a status change that lost a race: the order was no longer in the expected status,
+     * or no longer at the update time it was read with.
+     */
+    public void recordStatusConflict(OrderStatus expectedStatus) {
+        statusConflictCounters.get(expectedStatus).increment();
+    }
+
+    private static Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram();
+    }
+}
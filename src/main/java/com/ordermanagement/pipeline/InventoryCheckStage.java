@@ -0,0 +1,36 @@
+package com.ordermanagement.pipeline;
+
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.service.OrderProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reserves inventory for the order. (simulated)
+ */
+@Component
+@org.springframework.core.annotation.Order(100)
+@Slf4j
+public class InventoryCheckStage implements ProcessingStage {
+
+    @Override
+    public String name() {
+        return "inventory-check";
+    }
+
+    @Override
+    public void process(Order order) {
+        // Simulate 0.5-1.5 seconds of work
+        SimulatedWork.sleep(500 + ThreadLocalRandom.current().nextInt(1000));
+
+        // Simulate occasional failures (10% failure rate for demo)
+        // Showcased the failure scenario and gave API response
+        if (ThreadLocalRandom.current().nextInt(100) < 10) {
+            throw new OrderProcessor.TransientProcessingException(
+                    "Simulated processing failure = inventory unavailable");
+        }
+        log.debug("Inventory reserved for order {}", order.getId());
+    }
+}
@@ -0,0 +1,179 @@
+package com.ordermanagement.pipeline;
+
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.metrics.OrderMetrics;
+import com.ordermanagement.service.OrderProcessor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs orders through the {@link ProcessingStage}s.
+ * Every stage has its own inbound queue, executor and concurrency limit. A worker finishes
+ * its stage, hands the order to the next stage's queue and is free again, so a slow stage
+ * only ever occupies its own workers and never the threads a fast stage needs.
+ * Publishes {@code order.pipeline.stage.queued{stage}} and {@code order.pipeline.stage.busy{stage}}.
+ * Depends on the {@link OrderStatusWriter}, so on shutdown the stage executors finish their running
+ * orders before the writer's final flush writes the outcomes.
+ */
+@Component
+@DependsOn("orderStatusWriter")
+@Slf4j
+public class OrderPipeline implements MeterBinder {
+
+    private final List<StageRunner> stages;
+    private final OrderMetrics orderMetrics;
+
+    public OrderPipeline(List<ProcessingStage> processingStages,
+                         StageExecutorFactory stageExecutorFactory,
+                         OrderMetrics orderMetrics,
+                         Environment environment,
+                         @Value("${order.processing.worker-concurrency:10}") int defaultConcurrency) {
+        this.orderMetrics = orderMetrics;
+        this.stages = processingStages.stream()
+                .map(stage -> {
+                    int concurrency = environment.getProperty(
+                            "order.processing.stages." + stage.name() + ".concurrency", Integer.class, defaultConcurrency);
+                    return new StageRunner(stage, stageExecutorFactory.create(stage.name(), concurrency), concurrency);
+                })
+                .toList();
+        log.info("Order pipeline stages: {}", processingStages.stream().map(ProcessingStage::name).toList());
+    }
+
+    /**
+     * Start an order on the first stage. Returns immediately.
+     *
+     * @param order      The claimed order
+     * @param onFinished Called once the order left the pipeline, with the failure that stopped it or null
+     */
+    public void submit(Order order, BiConsumer<Order, Exception> onFinished) {
+        advance(new Work(order, 0, onFinished), null);
+    }
+
+    private void advance(Work work, Exception failure) {
+        if (failure != null || work.stageIndex() == stages.size()) {
+            try {
+                work.onFinished().accept(work.order(), failure);
+            } catch (Exception e) {
+                log.error("Completion of order {} failed unexpectedly", work.order().getId(), e);
+            }
+            return;
+        }
+        stages.get(work.stageIndex()).submit(work);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (StageRunner stage : stages) {
+            Gauge.builder("order.pipeline.stage.queued", stage.queue, Queue::size)
+                    .description("Orders waiting for a worker of a pipeline stage")
+                    .tag("stage", stage.stage.name())
+                    .register(registry);
+            Gauge.builder("order.pipeline.stage.busy", stage.permits, permits -> stage.concurrency - permits.availablePermits())
+                    .description("Workers of a pipeline stage currently processing an order")
+                    .tag("stage", stage.stage.name())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Stop the stage executors, letting running work finish.
+     */
+    @PreDestroy
+    public void shutdown() throws Exception {
+        for (StageRunner stage : stages) {
+            if (stage.executor instanceof DisposableBean disposable) {
+                disposable.destroy();
+            } else if (stage.executor instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * An order on its way through the pipeline.
+     */
+    private record Work(Order order, int stageIndex, BiConsumer<Order, Exception> onFinished) {
+
+        Work next() {
+            return new Work(order, stageIndex + 1, onFinished);
+        }
+    }
+
+    /**
+     * Queue, executor and concurrency limit of one stage.
+     */
+    private final class StageRunner {
+
+        private final ProcessingStage stage;
+        private final Executor executor;
+        private final int concurrency;
+        private final Semaphore permits;
+        private final Queue<Work> queue = new ConcurrentLinkedQueue<>();
+
+        private StageRunner(ProcessingStage stage, Executor executor, int concurrency) {
+            this.stage = stage;
+            this.executor = executor;
+            this.concurrency = concurrency;
+            this.permits = new Semaphore(concurrency);
+        }
+
+        void submit(Work work) {
+            queue.add(work);
+            drain();
+        }
+
+        /**
+         * Start queued work while workers are free. Called on every submit and whenever
+         * a worker finishes, so nothing stays queued while a permit is available.
+         */
+        private void drain() {
+            while (!queue.isEmpty() && permits.tryAcquire()) {
+                Work work = queue.poll();
+                if (work == null) {
+                    permits.release();
+                    continue;
+                }
+                try {
+                    executor.execute(() -> run(work));
+                } catch (RuntimeException e) {
+                    permits.release();
+                    orderMetrics.recordStageRejected(stage.name());
+                    log.warn("Stage {} rejected order {}", stage.name(), work.order().getId(), e);
+                    advance(work, new OrderProcessor.TransientProcessingException(
+                            "Processing stage " + stage.name() + " rejected the order"));
+                }
+            }
+        }
+
+        private void run(Work work) {
+            long startedAt = System.nanoTime();
+            Exception failure = null;
+            try {
+                stage.process(work.order());
+            } catch (Exception e) {
+                failure = e;
+            } finally {
+                orderMetrics.recordStage(stage.name(), Duration.ofNanos(System.nanoTime() - startedAt));
+                permits.release();
+            }
+            advance(failure == null ? work.next() : work, failure);
+            drain();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.ordermanagement.pipeline;
+
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderOutbox;
+import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.event.OrderStatusChangedEvent;
+import com.ordermanagement.metrics.OrderMetrics;
+import com.ordermanagement.repository.OrderOutboxRepository;
+import com.ordermanagement.repository.OrderRepository;
+import com.ordermanagement.repository.OrderRepositoryCustom.StatusChange;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects the final status of processed orders and writes them periodically as one
+ * batched update per flush, instead of one entity save per order. Each update is conditional
+ * on the order still being in the status it is leaving, with the update time it was claimed with;
+ * a change whose order has already moved on (another worker got there first, or the order was
+ * reclaimed and claimed again) is dropped and counted as a conflict. Retry outbox entries
+ * for the applied changes are written in the same transaction. Status change events are published
+ * once the batch is committed.
+ * If a batch fails, its changes are written one by one, so a single bad row does not hold back the rest;
+ * orders whose own write fails stay PROCESSING and are picked up again by the recovery sweeper.
+ */
+@Component
+@Slf4j
+public class OrderStatusWriter {
+
+    private final OrderRepository orderRepository;
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderMetrics orderMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final Queue<PendingChange> pending = new ConcurrentLinkedQueue<>();
+
+    public OrderStatusWriter(OrderRepository orderRepository,
+                             OrderOutboxRepository orderOutboxRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             OrderMetrics orderMetrics,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${order.processing.status-writer.batch-size:200}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.orderOutboxRepository = orderOutboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.orderMetrics = orderMetrics;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queue a status change for the next flush.
+     *
+     * @param change         The new state of the order, with the update time it must still have
+     * @param previousStatus Status the order is leaving; the change only applies while the order is still in it
+     * @param amount         Order value, carried on the status change event
+     * @param afterWrite     Called after the flush containing this change, whether it succeeded or not
+     */
+    public void enqueue(StatusChange change, OrderStatus previousStatus, BigDecimal amount, Runnable afterWrite) {
+        pending.add(new PendingChange(change, previousStatus, amount, afterWrite));
+    }
+
+    /**
+     * Write all queued changes, at most {@code batch-size} per transaction.
+     */
+    @Scheduled(fixedDelayString = "${order.processing.status-writer.flush-interval-ms:100}")
+    public synchronized void flush() {
+        List<PendingChange> batch;
+        while (!(batch = nextBatch()).isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private List<PendingChange> nextBatch() {
+        List<PendingChange> batch = new ArrayList<>();
+        PendingChange change;
+        while (batch.size() < batchSize && (change = pending.poll()) != null) {
+            batch.add(change);
+        }
+        return batch;
+    }
+
+    private void write(List<PendingChange> batch) {
+        LocalDateTime now = Order.currentTimestamp();
+        Map<OrderStatus, List<PendingChange>> byPreviousStatus = new EnumMap<>(OrderStatus.class);
+        for (PendingChange change : batch) {
+            byPreviousStatus.computeIfAbsent(change.previousStatus(), status -> new ArrayList<>()).add(change);
+        }
+
+        Set<PendingChange> applied = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                byPreviousStatus.forEach((previousStatus, changes) -> {
+                    int[] counts = orderRepository.updateStatuses(
+                            changes.stream().map(PendingChange::change).toList(), previousStatus, now);
+                    for (int i = 0; i < changes.size(); i++) {
+                        // Drivers may report SUCCESS_NO_INFO (-2) instead of a count; only 0 means the guard failed
+                        if (counts[i] != 0) {
+                            applied.add(changes.get(i));
+                        }
+                    }
+                });
+
+                List<OrderOutbox> retries = applied.stream()
+                        .map(PendingChange::change)
+                        .filter(change -> change.nextAttemptAt() != null)
+                        .map(change -> OrderOutbox.forOrderAt(change.orderId(), change.nextAttemptAt()))
+                        .toList();
+                if (!retries.isEmpty()) {
+                    orderOutboxRepository.saveAll(retries);
+                }
+            });
+            log.debug("Wrote {} of {} order status changes", applied.size(), batch.size());
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                log.warn("Failed to write {} order status changes as a batch, writing them one by one",
+                        batch.size(), e);
+                batch.forEach(change -> write(List.of(change)));
+                return;
+            }
+            log.error("Failed to write the status change of order {}; it stays PROCESSING until reclaimed",
+                    batch.get(0).change().orderId(), e);
+            runAfterWrite(batch.get(0));
+            return;
+        }
+
+        for (PendingChange change : batch) {
+            if (applied.contains(change)) {
+                eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                        change.change().orderId(), change.previousStatus(), change.change().status(), now, change.amount()));
+            } else {
+                orderMetrics.recordStatusConflict(change.previousStatus());
+                log.warn("Order {} is no longer {} as claimed, dropping its change to {}",
+                        change.change().orderId(), change.previousStatus(), change.change().status());
+            }
+            runAfterWrite(change);
+        }
+    }
+
+    private void runAfterWrite(PendingChange change) {
+        try {
+            change.afterWrite().run();
+        } catch (RuntimeException e) {
+            log.error("Post-write callback for order {} failed", change.change().orderId(), e);
+        }
+    }
+
+    private record PendingChange(StatusChange change, OrderStatus previousStatus, BigDecimal amount, Runnable afterWrite) {
+    }
+}
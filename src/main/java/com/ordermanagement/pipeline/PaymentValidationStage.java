@@ -0,0 +1,28 @@
+package com.ordermanagement.pipeline;
+
+import com.ordermanagement.entity.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Validates the payment for the order. (simulated)
+ */
+@Component
+@org.springframework.core.annotation.Order(200)
+@Slf4j
+public class PaymentValidationStage implements ProcessingStage {
+
+    @Override
+    public String name() {
+        return "payment-validation";
+    }
+
+    @Override
+    public void process(Order order) {
+        // Simulate 0.5-1.5 seconds of work
+        SimulatedWork.sleep(500 + ThreadLocalRandom.current().nextInt(1000));
+        log.debug("Payment validated for order {}", order.getId());
+    }
+}
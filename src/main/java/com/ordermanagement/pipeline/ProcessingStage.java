@@ -0,0 +1,27 @@
+package com.ordermanagement.pipeline;
+
+import com.ordermanagement.entity.Order;
+
+/**
+ * One step of order processing, e.g. an inventory check or payment validation.
+ * Stages are Spring beans run in {@link org.springframework.core.annotation.Order} order by
+ * the {@link OrderPipeline}; each one gets its own executor and concurrency limit
+ * ({@code order.processing.stages.<name>.concurrency}).
+ */
+public interface ProcessingStage {
+
+    /**
+     * Stage name, used for configuration, thread names and metrics.
+     */
+    String name();
+
+    /**
+     * Process one order. Must not modify the order's status; the outcome is written once the
+     * order leaves the pipeline. Throw
+     * {@link com.ordermanagement.service.OrderProcessor.TransientProcessingException}
+     * for failures that are worth retrying later.
+     *
+     * @param order The order being processed (detached, read-only)
+     */
+    void process(Order order);
+}
@@ -0,0 +1,19 @@
+package com.ordermanagement.pipeline;
+
+/**
+ * Stand-in for the blocking calls a real stage would make.
+ */
+final class SimulatedWork {
+
+    private SimulatedWork() {
+    }
+
+    static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Processing interrupted", e);
+        }
+    }
+}
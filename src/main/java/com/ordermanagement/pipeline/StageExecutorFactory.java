@@ -0,0 +1,17 @@
+package com.ordermanagement.pipeline;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Creates the executor of one pipeline stage. The pipeline owns the returned executor
+ * and shuts it down with the application context.
+ */
+@FunctionalInterface
+public interface StageExecutorFactory {
+
+    /**
+     * @param stageName   Name of the stage, used for thread names
+     * @param concurrency Maximum number of orders the stage works on at once
+     */
+    Executor create(String stageName, int concurrency);
+}
@@ -0,0 +1,40 @@
+package com.ordermanagement.repository;
+
+import com.ordermanagement.entity.OrderArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repository for archived orders.
+ */
+@Repository
+public interface OrderArchiveRepository extends JpaRepository<OrderArchive, Long> {
+
+    /**
+     * Read only the last modification time of an archived order.
+     */
+    @Query("SELECT a.updatedAt FROM OrderArchive a WHERE a.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    /**
+     * Copy the given orders into the archive in a single statement, without loading them.
+     *
+     * @return Number of orders copied
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO orders_archive (id, customer_id, product_name, quantity, price, status, idempotency_key,
+                                        created_at, updated_at, failure_reason, attempts, next_attempt_at, archived_at)
+            SELECT id, customer_id, product_name, quantity, price, status, idempotency_key,
+                   created_at, updated_at, failure_reason, attempts, next_attempt_at, :archivedAt
+            FROM orders WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int copyFromOrders(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,42 @@
+package com.ordermanagement.repository;
+
+import com.ordermanagement.entity.OrderOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the order outbox.
+ */
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+    /**
+     * Lock the oldest outbox entries that are due.
+     * Rows already locked by another relay are skipped, so several nodes can drain
+     * the outbox concurrently without blocking each other or dispatching an order twice.
+     */
+    @Query(value = """
+            SELECT * FROM order_outbox WHERE available_at <= :now
+            ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OrderOutbox> lockNextBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    /**
+     * Count entries that are due now, i.e. not waiting for a retry delay.
+     */
+    long countByAvailableAtLessThanEqual(LocalDateTime now);
+
+    /**
+     * Delete the given entries in a single statement.
+     */
+    @Modifying
+    @Query("DELETE FROM OrderOutbox e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
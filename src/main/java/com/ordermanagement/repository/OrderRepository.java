@@ -2,17 +2,28 @@ package com.ordermanagement.repository;
 
 import com.ordermanagement.entity.Order;
 import com.ordermanagement.entity.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Order entity operations.
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
 
     /**
      * Find an order by its idempotency key.
@@ -21,12 +32,137 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findByIdempotencyKey(String idempotencyKey);
 
     /**
-     * Find all orders by customer ID.
+     * Find all orders matching any of the given idempotency keys in one query.
+     * Used to resolve a whole batch of keys at once.
      */
-    List<Order> findByCustomerId(String customerId);
+    List<Order> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
 
     /**
      * Find all orders by status.
      */
     List<Order> findByStatus(OrderStatus status);
+
+    /**
+     * Count orders in a status.
+     */
+    long countByStatus(OrderStatus status);
+
+    /**
+     * Find the next page of orders after the given ID (keyset pagination).
+     * Uses the primary key index, so the cost does not grow with the page depth.
+     */
+    List<Order> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Stream all orders in ID order using a server-side cursor.
+     * Must be consumed inside a transaction and closed after use.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o ORDER BY o.id")
+    Stream<Order> streamAll();
+
+    /**
+     * Read only the last modification time of an order, without loading the entity.
+     * Used to answer conditional GETs.
+     */
+    @Query("SELECT o.updatedAt FROM Order o WHERE o.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    /**
+     * Read only the current status of the given orders.
+     */
+    @Query("SELECT o.id AS id, o.status AS status FROM Order o WHERE o.id IN :ids")
+    List<StatusView> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Read the current status, value and last update time of the given orders.
+     */
+    @Query("SELECT o.id AS id, o.status AS status, o.price * o.quantity AS amount, o.updatedAt AS updatedAt"
+            + " FROM Order o WHERE o.id IN :ids")
+    List<ClaimView> findClaimViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lock a page of orders that have been CREATED or PROCESSING since before the given time
+     * and are not waiting in the outbox, oldest first.
+     * Rows locked by a sweeper on another node are skipped, so concurrent sweeps never reclaim
+     * the same order twice.
+     */
+    @Query(value = """
+            SELECT o.id AS id, o.status AS status, o.price * o.quantity AS amount FROM orders o
+            WHERE o.status IN ('CREATED', 'PROCESSING') AND o.updated_at < :staleBefore
+              AND NOT EXISTS (SELECT 1 FROM order_outbox e WHERE e.order_id = o.id)
+            ORDER BY o.updated_at LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<AmountView> lockStaleOrders(@Param("staleBefore") LocalDateTime staleBefore,
+                                     @Param("batchSize") int batchSize);
+
+    /**
+     * Lock a page of COMPLETED or FAILED orders last updated before the given time, oldest first.
+     * Rows locked by an archiver on another node are skipped.
+     */
+    @Query(value = """
+            SELECT o.id FROM orders o
+            WHERE o.status IN ('COMPLETED', 'FAILED') AND o.updated_at < :updatedBefore
+            ORDER BY o.updated_at LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockArchivableOrderIds(@Param("updatedBefore") LocalDateTime updatedBefore,
+                                      @Param("batchSize") int batchSize);
+
+    /**
+     * Delete the given orders in a single statement.
+     */
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Move the given orders to a new status in a single statement.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt WHERE o.id IN :ids")
+    int updateStatus(@Param("ids") List<Long> ids,
+                     @Param("status") OrderStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Move the given orders to a new status in a single statement, but only those still in the
+     * expected status. Orders another worker has already moved on are left untouched.
+     *
+     * @return Number of orders that were in the expected status and were moved
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt WHERE o.id IN :ids AND o.status = :expectedStatus")
+    int transitionStatus(@Param("ids") List<Long> ids,
+                         @Param("expectedStatus") OrderStatus expectedStatus,
+                         @Param("status") OrderStatus status,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Projection of an order's ID and status.
+     */
+    interface StatusView {
+        Long getId();
+
+        OrderStatus getStatus();
+    }
+
+    /**
+     * Projection of an order's ID, status and value (price * quantity).
+     */
+    interface AmountView extends StatusView {
+        BigDecimal getAmount();
+    }
+
+    /**
+     * Projection of an order about to be claimed. A CREATED order is not updated while it waits,
+     * so its last update time is when it (re-)entered CREATED.
+     */
+    interface ClaimView extends AmountView {
+        LocalDateTime getUpdatedAt();
+    }
 }
@@ -0,0 +1,95 @@
+package com.ordermanagement.repository;
+
+import com.ordermanagement.dto.OrderSummary;
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderStatus;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Custom order persistence operations that cannot be expressed as derived or annotated queries.
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Insert the order unless an order with the same idempotency key already exists.
+     * Runs as a single INSERT ... ON CONFLICT DO NOTHING, so concurrent requests with the
+     * same key never fail on the unique index. The order's ID and timestamps are assigned
+     * before the insert.
+     *
+     * @param order The new order, with an idempotency key
+     * @return true if the order was inserted, false if the idempotency key was already taken
+     */
+    boolean insertIfAbsent(Order order);
+
+    /**
+     * Apply several status changes with one JDBC batch of single-row conditional updates,
+     * without loading or dirty-checking the entities. A change only applies while the order is
+     * still in the expected status and has not been updated since the change's
+     * {@link StatusChange#expectedUpdatedAt()}, so a worker that lost a race to another one cannot
+     * overwrite its outcome, even when the order is back in the same status (reclaimed and claimed
+     * again). Must run inside a transaction.
+     *
+     * @param changes        The changes to apply
+     * @param expectedStatus Status every order must still be in for its change to apply
+     * @param updatedAt      Timestamp written to every updated order
+     * @return Number of rows updated per change, in the order of {@code changes}; 0 means the order
+     * had already left the expected status or was updated by someone else
+     */
+    int[] updateStatuses(List<StatusChange> changes, OrderStatus expectedStatus, LocalDateTime updatedAt);
+
+    /**
+     * Find a page of a customer's orders, newest first, using keyset pagination on (createdAt, id).
+     * Only the summary columns are selected; optional filters are added to the query only when set,
+     * so every variant can use the (customerId, createdAt, id) index.
+     *
+     * @param query Customer, optional filters and the position after which to continue
+     * @param limit Maximum number of orders to return
+     * @return Order summaries in descending (createdAt, id) order
+     */
+    List<OrderSummary> findCustomerOrders(CustomerOrderQuery query, int limit);
+
+    /**
+     * Read the orders created within the given range in ID order through a forward-only, read-only
+     * JDBC cursor and pass each row to the handler, without creating entities. Only one fetch of rows
+     * is held in memory at a time. Must run inside a transaction, which keeps the cursor open.
+     *
+     * @param createdFrom Only orders created at or after this time (optional)
+     * @param createdTo   Only orders created before this time (optional)
+     * @param rowHandler  Called for each row; the result set columns are those of the orders table
+     * @return Number of rows read
+     */
+    long exportOrders(LocalDateTime createdFrom, LocalDateTime createdTo, RowCallbackHandler rowHandler);
+
+    /**
+     * Customer order history query. All fields except {@code customerId} are optional.
+     *
+     * @param createdFrom     Only orders created at or after this time
+     * @param createdTo       Only orders created before this time
+     * @param beforeCreatedAt Keyset position: continue with orders older than this order...
+     * @param beforeId        ...identified by its creation time and ID
+     */
+    record CustomerOrderQuery(String customerId,
+                              OrderStatus status,
+                              LocalDateTime createdFrom,
+                              LocalDateTime createdTo,
+                              LocalDateTime beforeCreatedAt,
+                              Long beforeId) {
+    }
+
+    /**
+     * New processing state of one order.
+     *
+     * @param expectedUpdatedAt Update time the order was read with (for a processed order, its claim
+     *                          time); the change only applies while the order still has it
+     */
+    record StatusChange(Long orderId,
+                        OrderStatus status,
+                        String failureReason,
+                        int attempts,
+                        LocalDateTime nextAttemptAt,
+                        LocalDateTime expectedUpdatedAt) {
+    }
+}
@@ -0,0 +1,187 @@
+package com.ordermanagement.repository;
+
+import com.ordermanagement.dto.OrderSummary;
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementation of {@link OrderRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO orders (id, customer_id, product_name, quantity, price, status,
+                                idempotency_key, created_at, updated_at, failure_reason, attempts)
+            VALUES (:id, :customerId, :productName, :quantity, :price, :status,
+                    :idempotencyKey, :createdAt, :updatedAt, :failureReason, :attempts)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String UPDATE_STATUS = """
+            UPDATE orders SET status = ?, failure_reason = ?, attempts = ?, next_attempt_at = ?, updated_at = ?
+            WHERE id = ? AND status = ? AND updated_at = ?
+            """;
+
+    private static final String CUSTOMER_ORDERS = """
+            SELECT new com.ordermanagement.dto.OrderSummary(
+                o.id, o.productName, o.quantity, o.price, o.status, o.createdAt, o.updatedAt)
+            FROM Order o
+            WHERE o.customerId = :customerId
+            """;
+
+    private static final String EXPORT_ORDERS = """
+            SELECT id, customer_id, product_name, quantity, price, status, idempotency_key,
+                   failure_reason, attempts, next_attempt_at, created_at, updated_at
+            FROM orders WHERE 1 = 1
+            """;
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public boolean insertIfAbsent(Order order) {
+        // Take the ID from the entity's pooled sequence generator so it never collides with JPA inserts
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getEntityPersister(Order.class.getName(), order);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) persister.getGenerator();
+        order.setId((Long) generator.generate(session, order, null, EventType.INSERT));
+
+        LocalDateTime now = Order.currentTimestamp();
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        if (order.getStatus() == null) {
+            order.setStatus(OrderStatus.CREATED);
+        }
+
+        int inserted = entityManager.createNativeQuery(INSERT_IF_ABSENT)
+                .setParameter("id", order.getId())
+                .setParameter("customerId", order.getCustomerId())
+                .setParameter("productName", order.getProductName())
+                .setParameter("quantity", order.getQuantity())
+                .setParameter("price", order.getPrice())
+                .setParameter("status", order.getStatus().name())
+                .setParameter("idempotencyKey", order.getIdempotencyKey())
+                .setParameter("createdAt", order.getCreatedAt())
+                .setParameter("updatedAt", order.getUpdatedAt())
+                .setParameter("failureReason", order.getFailureReason())
+                .setParameter("attempts", order.getAttempts())
+                .executeUpdate();
+        return inserted == 1;
+    }
+
+    @Override
+    public int[] updateStatuses(List<StatusChange> changes, OrderStatus expectedStatus, LocalDateTime updatedAt) {
+        if (changes.isEmpty()) {
+            return new int[0];
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_STATUS)) {
+                for (StatusChange change : changes) {
+                    statement.setString(1, change.status().name());
+                    statement.setString(2, change.failureReason());
+                    statement.setInt(3, change.attempts());
+                    if (change.nextAttemptAt() == null) {
+                        statement.setNull(4, Types.TIMESTAMP);
+                    } else {
+                        statement.setObject(4, change.nextAttemptAt());
+                    }
+                    statement.setObject(5, updatedAt);
+                    statement.setLong(6, change.orderId());
+                    statement.setString(7, expectedStatus.name());
+                    statement.setObject(8, change.expectedUpdatedAt());
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public long exportOrders(LocalDateTime createdFrom, LocalDateTime createdTo, RowCallbackHandler rowHandler) {
+        StringBuilder sql = new StringBuilder(EXPORT_ORDERS);
+        if (createdFrom != null) {
+            sql.append(" AND created_at >= ?");
+        }
+        if (createdTo != null) {
+            sql.append(" AND created_at < ?");
+        }
+        sql.append(" ORDER BY id");
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // With auto-commit off, the PostgreSQL driver streams rows in fetches of this size
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                int parameter = 1;
+                if (createdFrom != null) {
+                    statement.setObject(parameter++, createdFrom);
+                }
+                if (createdTo != null) {
+                    statement.setObject(parameter, createdTo);
+                }
+
+                long rows = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rowHandler.processRow(resultSet);
+                        rows++;
+                    }
+                }
+                return rows;
+            }
+        });
+    }
+
+    @Override
+    public List<OrderSummary> findCustomerOrders(CustomerOrderQuery query, int limit) {
+        StringBuilder jpql = new StringBuilder(CUSTOMER_ORDERS);
+        if (query.status() != null) {
+            jpql.append(" AND o.status = :status");
+        }
+        if (query.createdFrom() != null) {
+            jpql.append(" AND o.createdAt >= :createdFrom");
+        }
+        if (query.createdTo() != null) {
+            jpql.append(" AND o.createdAt < :createdTo");
+        }
+        if (query.beforeCreatedAt() != null) {
+            jpql.append(" AND (o.createdAt < :beforeCreatedAt OR (o.createdAt = :beforeCreatedAt AND o.id < :beforeId))");
+        }
+        jpql.append(" ORDER BY o.createdAt DESC, o.id DESC");
+
+        TypedQuery<OrderSummary> typedQuery = entityManager.createQuery(jpql.toString(), OrderSummary.class)
+                .setParameter("customerId", query.customerId())
+                .setMaxResults(limit);
+        if (query.status() != null) {
+            typedQuery.setParameter("status", query.status());
+        }
+        if (query.createdFrom() != null) {
+            typedQuery.setParameter("createdFrom", query.createdFrom());
+        }
+        if (query.createdTo() != null) {
+            typedQuery.setParameter("createdTo", query.createdTo());
+        }
+        if (query.beforeCreatedAt() != null) {
+            typedQuery.setParameter("beforeCreatedAt", query.beforeCreatedAt())
+                    .setParameter("beforeId", query.beforeId());
+        }
+        return typedQuery.getResultList();
+    }
+}
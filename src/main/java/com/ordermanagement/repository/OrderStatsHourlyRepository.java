@@ -0,0 +1,55 @@
+package com.ordermanagement.repository;
+
+import com.ordermanagement.entity.OrderStatsHourly;
+import com.ordermanagement.entity.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the hourly order rollups.
+ */
+@Repository
+public interface OrderStatsHourlyRepository extends JpaRepository<OrderStatsHourly, OrderStatsHourly.Key> {
+
+    /**
+     * Find the buckets starting within the given range, oldest first.
+     */
+    List<OrderStatsHourly> findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Add to a bucket in place, so concurrent writers never lose an update.
+     *
+     * @return Number of rows updated; 0 if the bucket has no row yet
+     */
+    @Modifying
+    @Query("UPDATE OrderStatsHourly h SET h.orderCount = h.orderCount + :count, h.amount = h.amount + :amount " +
+            "WHERE h.bucketStart = :bucketStart AND h.status = :status")
+    int increment(@Param("bucketStart") LocalDateTime bucketStart,
+                  @Param("status") OrderStatus status,
+                  @Param("count") long count,
+                  @Param("amount") BigDecimal amount);
+
+    /**
+     * Create a bucket unless another writer created it first.
+     *
+     * @return 1 if the row was inserted, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO order_stats_hourly (bucket_start, status, order_count, amount)
+            VALUES (:bucketStart, :status, :count, :amount)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("bucketStart") LocalDateTime bucketStart,
+                       @Param("status") String status,
+                       @Param("count") long count,
+                       @Param("amount") BigDecimal amount);
+}
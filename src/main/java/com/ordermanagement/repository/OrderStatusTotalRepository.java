@@ -0,0 +1,81 @@
+package com.ordermanagement.repository;
+
+import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.entity.OrderStatusTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository for the per-status order totals.
+ */
+@Repository
+public interface OrderStatusTotalRepository extends JpaRepository<OrderStatusTotal, OrderStatus> {
+
+    /**
+     * Add to the totals of a status in place, so concurrent writers never lose an update.
+     *
+     * @return Number of rows updated; 0 if the status has no row yet
+     */
+    @Modifying
+    @Query("UPDATE OrderStatusTotal t SET t.orderCount = t.orderCount + :count, t.amount = t.amount + :amount " +
+            "WHERE t.status = :status")
+    int increment(@Param("status") OrderStatus status,
+                  @Param("count") long count,
+                  @Param("amount") BigDecimal amount);
+
+    /**
+     * Create the row of a status unless another writer created it first.
+     *
+     * @return 1 if the row was inserted, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO order_status_totals (status, order_count, amount)
+            VALUES (:status, :count, :amount)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("status") String status,
+                       @Param("count") long count,
+                       @Param("amount") BigDecimal amount);
+
+    /**
+     * Overwrite the totals of a status.
+     *
+     * @return Number of rows updated; 0 if the status has no row yet
+     */
+    @Modifying
+    @Query("UPDATE OrderStatusTotal t SET t.orderCount = :count, t.amount = :amount WHERE t.status = :status")
+    int reset(@Param("status") OrderStatus status,
+              @Param("count") long count,
+              @Param("amount") BigDecimal amount);
+
+    /**
+     * Count and value of the orders in each status, computed from the live and the archived orders.
+     * Scans both tables; statuses without orders are left out.
+     */
+    @Query(value = """
+            SELECT o.status AS status, COUNT(*) AS count, SUM(o.price * o.quantity) AS amount
+            FROM (SELECT status, price, quantity FROM orders
+                  UNION ALL
+                  SELECT status, price, quantity FROM orders_archive) o
+            GROUP BY o.status
+            """, nativeQuery = true)
+    List<StatusTotalView> computeTotals();
+
+    /**
+     * Projection of the computed totals of one status.
+     */
+    interface StatusTotalView {
+        OrderStatus getStatus();
+
+        long getCount();
+
+        BigDecimal getAmount();
+    }
+}
@@ -0,0 +1,93 @@
+package com.ordermanagement.service;
+
+import com.ordermanagement.repository.OrderArchiveRepository;
+import com.ordermanagement.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically moves COMPLETED and FAILED orders older than the retention period from
+ * {@code orders} to {@code orders_archive}, so the hot table and its indexes only hold recent orders.
+ * Each batch is copied with one INSERT ... SELECT and deleted with one DELETE in the same transaction;
+ * rows are locked with SKIP LOCKED, so archivers on several nodes never move the same order.
+ * A run stops after a bounded number of batches, so a large backlog is worked off over several runs
+ * instead of holding the shared scheduler thread for hours.
+ * Archived orders are still found by {@link OrderService#getOrder(Long)}.
+ */
+@Component
+@ConditionalOnProperty(name = "order.archive.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OrderArchiver {
+
+    private final OrderRepository orderRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public OrderArchiver(OrderRepository orderRepository,
+                         OrderArchiveRepository orderArchiveRepository,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${order.archive.retention:90d}") Duration retention,
+                         @Value("${order.archive.batch-size:1000}") int batchSize,
+                         @Value("${order.archive.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.orderRepository = orderRepository;
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Archive terminal orders past the retention period, one batch per transaction and at most
+     * {@code order.archive.max-batches-per-run} batches per run.
+     */
+    @Scheduled(fixedDelayString = "${order.archive.interval-ms:3600000}",
+            initialDelayString = "${order.archive.interval-ms:3600000}")
+    public void archive() {
+        LocalDateTime updatedBefore = LocalDateTime.now().minus(retention);
+        int total = 0;
+        int batches = 0;
+        int archived;
+        do {
+            archived = archiveBatch(updatedBefore);
+            total += archived;
+            batches++;
+        } while (archived == batchSize && batches < maxBatchesPerRun);
+
+        if (total > 0) {
+            log.info("Archived {} orders finished before {}", total, updatedBefore);
+        }
+        if (archived == batchSize) {
+            log.info("Archive backlog left for the next run after {} batches", batches);
+        }
+    }
+
+    /**
+     * Move one batch of terminal orders last updated before the given time to the archive.
+     *
+     * @return Number of orders archived
+     */
+    int archiveBatch(LocalDateTime updatedBefore) {
+        Integer archived = transactionTemplate.execute(tx -> {
+            List<Long> orderIds = orderRepository.lockArchivableOrderIds(updatedBefore, batchSize);
+            if (orderIds.isEmpty()) {
+                return 0;
+            }
+            orderArchiveRepository.copyFromOrders(orderIds, LocalDateTime.now());
+            orderRepository.deleteByIdIn(orderIds);
+            return orderIds.size();
+        });
+        return archived == null ? 0 : archived;
+    }
+}
@@ -1,98 +1,253 @@
 package com.ordermanagement.service;
 
 import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderOutbox;
 import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.event.OrderStatusChangedEvent;
+import com.ordermanagement.metrics.OrderMetrics;
+import com.ordermanagement.pipeline.OrderPipeline;
+import com.ordermanagement.pipeline.OrderStatusWriter;
+import com.ordermanagement.repository.OrderOutboxRepository;
 import com.ordermanagement.repository.OrderRepository;
+import com.ordermanagement.repository.OrderRepositoryCustom.StatusChange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Random;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
- * Asynchronous order processor that handles order processing in the background.
+ * Order processor that handles order processing in the background.
+ * Orders are claimed from the order outbox by {@link OrderQueuePoller}, run through the
+ * stages of the {@link OrderPipeline}, and their outcome is written in batches by the
+ * {@link OrderStatusWriter}. Every status transition is published as an {@link OrderStatusChangedEvent}.
+ * Transient failures are retried with backoff according to the {@link RetryPolicy}: the order
+ * goes back to CREATED with an outbox entry that only becomes due at the next attempt time, so
+ * pending retries wait in the database rather than on a thread. Orders that run out of attempts,
+ * or fail permanently, end up FAILED.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderProcessor {
 
+    /**
+     * Start of the failure reason of an order that was FAILED because its transient failures ran out of
+     * retry attempts, as opposed to a permanent failure.
+     */
+    public static final String RETRIES_EXHAUSTED_PREFIX = "Retries exhausted: ";
+
     private final OrderRepository orderRepository;
-    private final Random random = new Random();
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderMetrics orderMetrics;
+    private final RetryPolicy retryPolicy;
+    private final OrderPipeline orderPipeline;
+    private final OrderStatusWriter orderStatusWriter;
 
     /**
-     * Process an order asynchronously. (runs on separate thread allowing faster API response)
+     * Claim the next batch of due orders from the outbox by moving them to PROCESSING.
+     * Outbox entries are locked with SELECT ... FOR UPDATE SKIP LOCKED and deleted in the
+     * same transaction, so concurrent pollers never claim the same order, and an order is
+     * only ever claimed after the transaction that created it has committed.
+     * Only orders still CREATED are claimed, with a conditional update; entries for orders that
+     * have already moved on are discarded.
+     * Records how long each order waited in CREATED, measured from when it last entered CREATED
+     * (created, rescheduled or reclaimed), and how long it waited once due.
      *
-     * @param orderId The ID of the order to process
+     * @param batchSize Maximum number of orders to claim
+     * @return IDs of the claimed orders
      */
-    @Async("orderProcessorExecutor")
     @Transactional
-    public void processOrder(Long orderId) {
-        log.info("Starting async processing for order: {}", orderId);
-
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> {
-                    log.error("Order not found for processing: {}", orderId);
-                    return new RuntimeException("Order not found: " + orderId);
-                });
-
-        // Update status to PROCESSING
-        order.setStatus(OrderStatus.PROCESSING);
-        orderRepository.save(order);
-        log.info("Order {} status updated to PROCESSING", orderId);
-
-        try {
-            // Simulate processing time (e.g., inventory check, payment validation)
-            simulateProcessing();
-
-            // Simulate occasional failures (10% failure rate for demo)
-            // Showcased the failure scenario and gave API response
-            if (shouldSimulateFailure()) {
-                throw new RuntimeException("Simulated processing failure = inventory unavailable");
-            }
+    public List<Long> claimNextBatch(int batchSize) {
+        List<OrderOutbox> entries = orderOutboxRepository.lockNextBatch(LocalDateTime.now(), batchSize);
+        if (entries.isEmpty()) {
+            return List.of();
+        }
 
-            // Processing successful
-            order.setStatus(OrderStatus.COMPLETED);
-            orderRepository.save(order);
-            log.info("Order {} processed successfully. Status: COMPLETED", orderId);
+        orderOutboxRepository.deleteByIdIn(entries.stream().map(OrderOutbox::getId).toList());
+        Map<Long, LocalDateTime> dueAt = entries.stream()
+                .collect(Collectors.toMap(OrderOutbox::getOrderId, OrderOutbox::getAvailableAt,
+                        (first, second) -> first.isBefore(second) ? first : second));
+        List<OrderRepository.ClaimView> orders = orderRepository.findClaimViewsByIdIn(entries.stream()
+                        .map(OrderOutbox::getOrderId)
+                        .toList()).stream()
+                .filter(order -> {
+                    if (order.getStatus() == OrderStatus.CREATED) {
+                        return true;
+                    }
+                    orderMetrics.recordStatusConflict(OrderStatus.CREATED);
+                    log.warn("Order {} is in status {}, discarding its outbox entry", order.getId(), order.getStatus());
+                    return false;
+                })
+                .toList();
+        List<Long> orderIds = orders.stream()
+                .map(OrderRepository.StatusView::getId)
+                .toList();
+        if (orderIds.isEmpty()) {
+            return orderIds;
+        }
 
-        } catch (Exception e) {
-            handleProcessingFailure(order, e);
+        LocalDateTime now = Order.currentTimestamp();
+        int claimed = orderRepository.transitionStatus(orderIds, OrderStatus.CREATED, OrderStatus.PROCESSING, now);
+        if (claimed != orderIds.size()) {
+            // Another writer moved some of the orders between the read and the update; the next poll tries again
+            throw new OptimisticLockingFailureException(
+                    "Claimed only " + claimed + " of " + orderIds.size() + " orders; rolling back the claim");
+        }
+        log.info("Claimed {} orders for processing: {}", orderIds.size(), orderIds);
+
+        for (OrderRepository.ClaimView order : orders) {
+            LocalDateTime enteredCreatedAt = order.getUpdatedAt();
+            LocalDateTime due = dueAt.get(order.getId());
+            orderMetrics.recordTimeInStatus(OrderStatus.CREATED, Duration.between(enteredCreatedAt, now));
+            orderMetrics.recordQueueWait(Duration.between(due.isAfter(enteredCreatedAt) ? due : enteredCreatedAt, now));
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                    order.getId(), OrderStatus.CREATED, OrderStatus.PROCESSING, now, order.getAmount()));
         }
+        return orderIds;
     }
 
     /**
-     * Simulate some processing work.
+     * Re-enqueue a page of orders whose lease expired: orders left in PROCESSING by a node that
+     * died mid-processing, or left in CREATED without an outbox entry. They are moved back to
+     * CREATED with a fresh outbox entry, so the regular poller picks them up again.
+     * Rows are locked with SKIP LOCKED, so sweepers on several nodes can run at the same time.
+     *
+     * @param staleBefore Orders not updated since this time are considered abandoned
+     * @param batchSize   Maximum number of orders to reclaim
+     * @return Number of orders reclaimed
      */
-    private void simulateProcessing() {
-        try {
-            // Simulate 1-3 seconds of processing
-            Thread.sleep(1000 + random.nextInt(2000));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Processing interrupted", e);
+    @Transactional
+    public int reclaimStaleOrders(LocalDateTime staleBefore, int batchSize) {
+        List<OrderRepository.AmountView> staleOrders = orderRepository.lockStaleOrders(staleBefore, batchSize);
+        if (staleOrders.isEmpty()) {
+            return 0;
         }
+
+        LocalDateTime now = Order.currentTimestamp();
+        List<Long> orderIds = staleOrders.stream()
+                .map(OrderRepository.StatusView::getId)
+                .toList();
+        orderRepository.updateStatus(orderIds, OrderStatus.CREATED, now);
+        orderOutboxRepository.saveAll(orderIds.stream()
+                .map(OrderOutbox::forOrder)
+                .toList());
+        log.info("Reclaimed {} stale orders: {}", orderIds.size(), orderIds);
+
+        for (OrderRepository.AmountView staleOrder : staleOrders) {
+            orderMetrics.recordReclaimed(staleOrder.getStatus());
+            if (staleOrder.getStatus() != OrderStatus.CREATED) {
+                eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                        staleOrder.getId(), staleOrder.getStatus(), OrderStatus.CREATED, now, staleOrder.getAmount()));
+            }
+        }
+        return staleOrders.size();
     }
 
     /**
-     * Determine if we should simulate a failure (10% chance).
+     * Run claimed orders through the processing pipeline. Returns immediately.
+     * The orders are loaded with one query; no database connection is held while the stages work.
+     *
+     * @param orderIds   IDs of orders claimed by {@link #claimNextBatch(int)}
+     * @param onFinished Called with each order ID once its outcome has been written (or it was skipped)
      */
-    private boolean shouldSimulateFailure() {
-        return random.nextInt(100) < 10;
+    public void processOrders(List<Long> orderIds, Consumer<Long> onFinished) {
+        Map<Long, Order> orders = orderRepository.findAllById(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        for (Long orderId : orderIds) {
+            Order order = orders.get(orderId);
+            if (order == null) {
+                log.error("Order not found for processing: {}", orderId);
+                onFinished.accept(orderId);
+                continue;
+            }
+            if (order.getStatus() != OrderStatus.PROCESSING) {
+                log.warn("Order {} is in status {}, skipping processing", orderId, order.getStatus());
+                onFinished.accept(orderId);
+                continue;
+            }
+
+            log.info("Starting processing for order: {}", orderId);
+            // updatedAt is the claim time: the order entered PROCESSING then
+            LocalDateTime claimedAt = order.getUpdatedAt();
+            LocalDateTime startedAt = LocalDateTime.now();
+
+            orderPipeline.submit(order, (processed, failure) -> {
+                StatusChange change = failure == null
+                        ? complete(processed, claimedAt)
+                        : handleProcessingFailure(processed, claimedAt, failure);
+                LocalDateTime finishedAt = LocalDateTime.now();
+                orderMetrics.recordExecution(Duration.between(startedAt, finishedAt), change.status());
+                orderMetrics.recordTimeInStatus(OrderStatus.PROCESSING, Duration.between(claimedAt, finishedAt));
+                orderStatusWriter.enqueue(change, OrderStatus.PROCESSING, processed.getAmount(),
+                        () -> onFinished.accept(orderId));
+            });
+        }
     }
 
     /**
-     * Handle processing failure by updating order status and logging.
+     * Outcome of an order that passed every stage.
      */
-    private void handleProcessingFailure(Order order, Exception e) {
+    private StatusChange complete(Order order, LocalDateTime claimedAt) {
+        log.info("Order {} processed successfully. Status: COMPLETED", order.getId());
+        return new StatusChange(order.getId(), OrderStatus.COMPLETED, null, order.getAttempts(), null, claimedAt);
+    }
+
+    /**
+     * Outcome of a failed order: a retry for a transient failure with attempts left,
+     * otherwise FAILED. An order that ran out of attempts gets a failure reason starting with
+     * {@link #RETRIES_EXHAUSTED_PREFIX}.
+     */
+    private StatusChange handleProcessingFailure(Order order, LocalDateTime claimedAt, Exception e) {
         log.error("Order {} processing failed: {}", order.getId(), e.getMessage());
 
-        order.setStatus(OrderStatus.FAILED);
-        order.setFailureReason(e.getMessage());
-        orderRepository.save(order);
+        String failureReason = failureReason(e.getMessage());
+        int failedAttempts = order.getAttempts() + 1;
+        if (e instanceof TransientProcessingException) {
+            if (retryPolicy.canRetry(failedAttempts)) {
+                LocalDateTime nextAttemptAt = LocalDateTime.now().plus(retryPolicy.nextDelay(failedAttempts));
+                orderMetrics.recordRetry(OrderMetrics.RETRY_SCHEDULED);
+                log.info("Order {} scheduled for retry {} of {} at {}",
+                        order.getId(), failedAttempts + 1, retryPolicy.getMaxAttempts(), nextAttemptAt);
+                return new StatusChange(order.getId(), OrderStatus.CREATED, failureReason, failedAttempts,
+                        nextAttemptAt, claimedAt);
+            }
+            orderMetrics.recordRetry(OrderMetrics.RETRY_EXHAUSTED);
+            log.warn("Order {} failed {} attempts, giving up", order.getId(), failedAttempts);
+            failureReason = failureReason(RETRIES_EXHAUSTED_PREFIX + e.getMessage());
+        }
 
         log.info("Order {} marked as FAILED. Reason: {}", order.getId(), e.getMessage());
+        return new StatusChange(order.getId(), OrderStatus.FAILED, failureReason, failedAttempts, null, claimedAt);
+    }
+
+    /**
+     * The failure message, cut to fit the failure reason column.
+     */
+    private static String failureReason(String message) {
+        if (message == null || message.length() <= Order.FAILURE_REASON_LENGTH) {
+            return message;
+        }
+        return message.substring(0, Order.FAILURE_REASON_LENGTH);
+    }
+
+    /**
+     * Processing failure that may succeed when tried again later (e.g. a dependency is temporarily unavailable).
+     */
+    public static class TransientProcessingException extends RuntimeException {
+        public TransientProcessingException(String message) {
+            super(message);
+        }
     }
 }
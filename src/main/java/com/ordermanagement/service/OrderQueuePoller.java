@@ -0,0 +1,124 @@
+package com.ordermanagement.service;
+
+import com.ordermanagement.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Relays committed orders from the order outbox to the processing pipeline in batches.
+ * The outbox table is the queue, so pending orders survive restarts, dispatch is bounded
+ * by the number of orders allowed in flight ({@code worker-concurrency}), and throughput
+ * scales with the number of nodes polling it.
+ * Publishes worker usage, queue depth and dispatch rejections as {@code order.queue.*} metrics.
+ */
+@Component
+@ConditionalOnProperty(name = "order.processing.queue.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OrderQueuePoller implements MeterBinder {
+
+    private final OrderProcessor orderProcessor;
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final Semaphore workerPermits;
+    private final int workerConcurrency;
+    private final int batchSize;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong pendingRetries = new AtomicLong();
+    private final LongAdder rejectedDispatches = new LongAdder();
+
+    public OrderQueuePoller(OrderProcessor orderProcessor,
+                            OrderOutboxRepository orderOutboxRepository,
+                            @Value("${order.processing.worker-concurrency:10}") int workerConcurrency,
+                            @Value("${order.processing.batch-size:20}") int batchSize) {
+        this.orderProcessor = orderProcessor;
+        this.orderOutboxRepository = orderOutboxRepository;
+        this.workerPermits = new Semaphore(workerConcurrency);
+        this.workerConcurrency = workerConcurrency;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Claim as many orders as there are free in-flight slots and start them on the pipeline.
+     * Keeps claiming while full batches come back, so a backlog drains without waiting for the next tick.
+     */
+    @Scheduled(fixedDelayString = "${order.processing.poll-interval-ms:500}")
+    public void poll() {
+        int claimed;
+        do {
+            int capacity = Math.min(batchSize, workerPermits.availablePermits());
+            if (capacity == 0) {
+                return;
+            }
+
+            List<Long> orderIds = orderProcessor.claimNextBatch(capacity);
+            dispatch(orderIds);
+            claimed = orderIds.size();
+        } while (claimed == batchSize);
+    }
+
+    private void dispatch(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        // Only this thread acquires permits, so the capacity checked before claiming is still there
+        workerPermits.acquireUninterruptibly(orderIds.size());
+        try {
+            orderProcessor.processOrders(orderIds, orderId -> workerPermits.release());
+        } catch (RuntimeException e) {
+            // Nothing was started; the claimed orders stay PROCESSING until the recovery sweeper reclaims them
+            workerPermits.release(orderIds.size());
+            rejectedDispatches.add(orderIds.size());
+            throw e;
+        }
+    }
+
+    /**
+     * Refresh the number of orders waiting in the queue, split into due orders and pending retries.
+     * Counted on its own schedule rather than per poll, so a large backlog does not add a count per tick.
+     */
+    @Scheduled(fixedDelayString = "${order.processing.queue-depth-refresh-ms:10000}")
+    public void refreshQueueDepth() {
+        long due = orderOutboxRepository.countByAvailableAtLessThanEqual(LocalDateTime.now());
+        queueDepth.set(due);
+        pendingRetries.set(Math.max(orderOutboxRepository.count() - due, 0));
+    }
+
+    /**
+     * Orders due in the outbox as of the last refresh.
+     */
+    public long getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("order.queue.workers.busy", workerPermits, permits -> workerConcurrency - permits.availablePermits())
+                .description("Orders currently in the processing pipeline on this node")
+                .register(registry);
+        Gauge.builder("order.queue.workers.capacity", () -> workerConcurrency)
+                .description("Maximum number of orders in the processing pipeline on this node")
+                .register(registry);
+        Gauge.builder("order.queue.depth", queueDepth, AtomicLong::get)
+                .description("Orders due in the outbox and waiting to be claimed (all nodes)")
+                .register(registry);
+        Gauge.builder("order.queue.retries.pending", pendingRetries, AtomicLong::get)
+                .description("Orders in the outbox waiting for their retry delay to pass (all nodes)")
+                .register(registry);
+        FunctionCounter.builder("order.queue.dispatch.rejected", rejectedDispatches, LongAdder::sum)
+                .description("Claimed orders that could not be started on the processing pipeline")
+                .register(registry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ordermanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Periodically re-enqueues orders stuck in CREATED or PROCESSING for longer than the lease,
+ * e.g. because the node processing them died. Works page by page, so a large backlog of stale
+ * orders is never loaded at once; reclaimed orders go back through the outbox and are processed
+ * with the usual bounded worker concurrency. A sweep stops after a bounded number of pages and leaves
+ * the rest to the next one, so it never holds the shared scheduler thread for long.
+ */
+@Component
+@ConditionalOnProperty(name = "order.processing.recovery.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OrderRecoverySweeper {
+
+    private final OrderProcessor orderProcessor;
+    private final Duration lease;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public OrderRecoverySweeper(OrderProcessor orderProcessor,
+                                @Value("${order.processing.recovery.lease:5m}") Duration lease,
+                                @Value("${order.processing.recovery.batch-size:100}") int batchSize,
+                                @Value("${order.processing.recovery.max-batches-per-run:10}") int maxBatchesPerRun) {
+        this.orderProcessor = orderProcessor;
+        this.lease = lease;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Reclaim orders whose lease expired, one page per transaction and at most
+     * {@code order.processing.recovery.max-batches-per-run} pages per sweep.
+     */
+    @Scheduled(fixedDelayString = "${order.processing.recovery.sweep-interval-ms:60000}",
+            initialDelayString = "${order.processing.recovery.sweep-interval-ms:60000}")
+    public void sweep() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(lease);
+        int total = 0;
+        int batches = 0;
+        int reclaimed;
+        do {
+            reclaimed = orderProcessor.reclaimStaleOrders(staleBefore, batchSize);
+            total += reclaimed;
+            batches++;
+        } while (reclaimed == batchSize && batches < maxBatchesPerRun);
+
+        if (total > 0) {
+            log.warn("Recovery sweep re-enqueued {} orders not updated since {}", total, staleBefore);
+        }
+    }
+}
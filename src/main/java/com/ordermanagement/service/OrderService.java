@@ -1,33 +1,79 @@
 package com.ordermanagement.service;
 
+import com.ordermanagement.cache.IdempotencyCache;
+import com.ordermanagement.cache.OrderCache;
+import com.ordermanagement.datasource.ReadYourWrites;
+import com.ordermanagement.dto.BatchCreateOrderRequest;
+import com.ordermanagement.dto.BatchCreateOrderResponse;
 import com.ordermanagement.dto.CreateOrderRequest;
 import com.ordermanagement.dto.OrderResponse;
+import com.ordermanagement.dto.OrderSummary;
 import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderArchive;
+import com.ordermanagement.entity.OrderOutbox;
 import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.event.OrderStatusChangedEvent;
+import com.ordermanagement.exception.InvalidRequestParameterException;
+import com.ordermanagement.metrics.OrderMetrics;
+import com.ordermanagement.repository.OrderArchiveRepository;
+import com.ordermanagement.repository.OrderOutboxRepository;
 import com.ordermanagement.repository.OrderRepository;
+import com.ordermanagement.repository.OrderRepositoryCustom;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for order management operations.
- * @Task - Handles order creation, retrieval, and coordinates with async processor.
+ * @Task - Handles order creation and retrieval. Every new order is written to the order outbox
+ * in the same transaction, so the order queue poller only sees it once it is committed.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String CURSOR_SEPARATOR = "_";
+
     private final OrderRepository orderRepository;
-    private final OrderProcessor orderProcessor;
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final EntityManager entityManager;
+    private final IdempotencyCache idempotencyCache;
+    private final OrderCache orderCache;
+    private final OrderMetrics orderMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadYourWrites readYourWrites;
 
     /**
      * Create a new order with idempotency support.
-     * If an order with the same idempotency key exists, return the existing order.
+     * If an order with the same idempotency key exists, return the existing order in its current
+     * state (as {@link #getOrder(Long)} returns it), not the response of the original creation.
+     * Recently seen keys are resolved to their order ID from the idempotency cache without trying
+     * an insert, and the order is then read through the order cache; otherwise the order is inserted
+     * with a single insert-if-absent statement and the existing order is only selected when the key
+     * turns out to be taken.
      *
      * @param request        The order creation request
      * @param idempotencyKey Unique key to prevent duplicate orders
@@ -39,48 +85,293 @@ public class OrderService {
         log.info("Creating order for customer: {} with idempotency key: {}",
                 request.getCustomerId(), idempotencyKey);
 
-        // Check for existing order with same idempotency key
-        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
-            Optional<Order> existingOrder = orderRepository.findByIdempotencyKey(idempotencyKey);
-            if (existingOrder.isPresent()) {
-                log.info("Order with idempotency key {} already exists. Returning existing order.",
-                        idempotencyKey);
-                return OrderResponse.fromEntity(existingOrder.get());
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            Order savedOrder = orderMetrics.recordCreateStage(OrderMetrics.STAGE_INSERT, () -> {
+                Order order = orderRepository.save(newOrder(request, idempotencyKey));
+                orderOutboxRepository.save(OrderOutbox.forOrder(order.getId()));
+                return order;
+            });
+            publishCreated(savedOrder);
+            log.info("Order created successfully with ID: {}. Queued for processing.", savedOrder.getId());
+            return OrderResponse.fromEntity(savedOrder);
+        }
+
+        Optional<OrderResponse> cachedOrder = orderMetrics.recordCreateStage(OrderMetrics.STAGE_IDEMPOTENCY_LOOKUP,
+                () -> idempotencyCache.get(idempotencyKey));
+        if (cachedOrder.isPresent()) {
+            log.info("Order with idempotency key {} found in cache. Returning existing order.",
+                    idempotencyKey);
+            // The cached response is the order as first created; its status may have moved on since
+            return getOrder(cachedOrder.get().getId());
+        }
+
+        Order order = newOrder(request, idempotencyKey);
+        OrderResponse response;
+        boolean inserted = orderMetrics.recordCreateStage(OrderMetrics.STAGE_INSERT, () -> {
+            if (!orderRepository.insertIfAbsent(order)) {
+                return false;
             }
+            orderOutboxRepository.save(OrderOutbox.forOrder(order.getId()));
+            return true;
+        });
+        if (inserted) {
+            log.info("Order created successfully with ID: {}. Queued for processing.", order.getId());
+            publishCreated(order);
+            response = OrderResponse.fromEntity(order);
+        } else {
+            // The key is taken (possibly by a concurrent request), so return the order that holds it
+            Order existingOrder = orderMetrics.recordCreateStage(OrderMetrics.STAGE_IDEMPOTENCY_LOOKUP,
+                            () -> orderRepository.findByIdempotencyKey(idempotencyKey))
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Order with idempotency key " + idempotencyKey + " conflicted but was not found"));
+            log.info("Order with idempotency key {} already exists. Returning existing order.",
+                    idempotencyKey);
+            response = OrderResponse.fromEntity(existingOrder);
         }
 
-        // Create new order
-        Order order = Order.builder()
-                .customerId(request.getCustomerId())
-                .productName(request.getProductName())
-                .quantity(request.getQuantity())
-                .price(request.getPrice())
-                .status(OrderStatus.CREATED)
-                .idempotencyKey(idempotencyKey)
-                .build();
+        cacheAfterCommit(idempotencyKey, response);
+        return response;
+    }
 
-        Order savedOrder = orderRepository.save(order);
-        log.info("Order created successfully with ID: {}", savedOrder.getId());
+    /**
+     * Create several orders in one transaction.
+     * Idempotency keys of the whole batch are resolved with a single IN query and new orders
+     * are inserted with JDBC batching. Repeated keys within the batch resolve to the same order.
+     *
+     * @param items The batch items, each with an optional idempotency key
+     * @return Per-item results in request order
+     */
+    @Transactional
+    public BatchCreateOrderResponse createOrders(List<BatchCreateOrderRequest.Item> items) {
+        log.info("Creating batch of {} orders", items.size());
+
+        Set<String> idempotencyKeys = items.stream()
+                .map(BatchCreateOrderRequest.Item::getIdempotencyKey)
+                .filter(key -> key != null && !key.isBlank())
+                .collect(Collectors.toSet());
 
-        // Trigger async processing
-        orderProcessor.processOrder(savedOrder.getId());
-        log.info("Async processing triggered for order: {}", savedOrder.getId());
+        // Keys answered by the cache are not looked up again
+        Map<String, OrderResponse> cachedByKey = new HashMap<>();
+        for (String key : idempotencyKeys) {
+            idempotencyCache.get(key).ifPresent(order -> cachedByKey.put(key, order));
+        }
+        idempotencyKeys.removeAll(cachedByKey.keySet());
 
-        return OrderResponse.fromEntity(savedOrder);
+        Map<String, Order> ordersByKey = new HashMap<>();
+        if (!idempotencyKeys.isEmpty()) {
+            orderRepository.findByIdempotencyKeyIn(idempotencyKeys)
+                    .forEach(order -> ordersByKey.put(order.getIdempotencyKey(), order));
+        }
+
+        List<Order> newOrders = new ArrayList<>();
+        List<Order> resolvedOrders = new ArrayList<>(items.size());
+        List<BatchCreateOrderResponse.Outcome> outcomes = new ArrayList<>(items.size());
+        for (BatchCreateOrderRequest.Item item : items) {
+            String idempotencyKey = item.getIdempotencyKey() == null || item.getIdempotencyKey().isBlank()
+                    ? null : item.getIdempotencyKey();
+
+            if (idempotencyKey != null && cachedByKey.containsKey(idempotencyKey)) {
+                resolvedOrders.add(null);
+                outcomes.add(BatchCreateOrderResponse.Outcome.EXISTING);
+                continue;
+            }
+
+            Order order = idempotencyKey == null ? null : ordersByKey.get(idempotencyKey);
+            BatchCreateOrderResponse.Outcome outcome = BatchCreateOrderResponse.Outcome.EXISTING;
+            if (order == null) {
+                order = newOrder(item.getOrder(), idempotencyKey);
+                newOrders.add(order);
+                if (idempotencyKey != null) {
+                    ordersByKey.put(idempotencyKey, order);
+                }
+                outcome = BatchCreateOrderResponse.Outcome.CREATED;
+            }
+            resolvedOrders.add(order);
+            outcomes.add(outcome);
+        }
+
+        // IDs come from the pooled sequence, so the inserts are flushed as JDBC batches
+        orderRepository.saveAll(newOrders);
+        orderOutboxRepository.saveAll(newOrders.stream()
+                .map(order -> OrderOutbox.forOrder(order.getId()))
+                .toList());
+        newOrders.forEach(this::publishCreated);
+        log.info("Batch created {} new orders, {} already existed", newOrders.size(), items.size() - newOrders.size());
+
+        List<BatchCreateOrderResponse.Result> results = new ArrayList<>(items.size());
+        for (int i = 0; i < resolvedOrders.size(); i++) {
+            Order order = resolvedOrders.get(i);
+            String idempotencyKey = order == null ? items.get(i).getIdempotencyKey() : order.getIdempotencyKey();
+            OrderResponse response = order == null
+                    ? getOrder(cachedByKey.get(idempotencyKey).getId())
+                    : OrderResponse.fromEntity(order);
+            if (order != null && idempotencyKey != null) {
+                cacheAfterCommit(idempotencyKey, response);
+            }
+            results.add(BatchCreateOrderResponse.Result.builder()
+                    .index(i)
+                    .idempotencyKey(idempotencyKey)
+                    .outcome(outcomes.get(i))
+                    .order(response)
+                    .build());
+        }
+
+        return BatchCreateOrderResponse.builder()
+                .createdCount(newOrders.size())
+                .existingCount(items.size() - newOrders.size())
+                .results(results)
+                .build();
     }
 
     /**
      * Get an order by ID.
+     * Orders moved to the archive are looked up there when they are not in the orders table.
+     * Served from the order cache when possible. Not wrapped in a transaction, so a cache hit
+     * never borrows a database connection.
      *
      * @param id The order ID
      * @return The order response
      * @throws OrderNotFoundException if order not found
      */
-    @Transactional(readOnly = true)
     public OrderResponse getOrder(Long id) {
         log.info("Fetching order with ID: {}", id);
+        return orderCache.get(id, this::loadOrder);
+    }
 
-        Order order = orderRepository.findById(id)
+    /**
+     * Get the last modification time of an order, for answering conditional requests.
+     * Taken from the order cache when the order is cached; otherwise only the timestamp column
+     * is read, so the order is neither hydrated nor cached.
+     *
+     * @param id The order ID
+     * @return When the order was last updated
+     * @throws OrderNotFoundException if order not found
+     */
+    public LocalDateTime getOrderUpdatedAt(Long id) {
+        OrderResponse cached = orderCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.getUpdatedAt();
+        }
+        return readYourWrites.readOrder(id, () -> orderRepository.findUpdatedAtById(id))
+                .or(() -> orderArchiveRepository.findUpdatedAtById(id))
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + id));
+    }
+
+    /**
+     * Get a page of orders using keyset pagination on the order ID.
+     *
+     * @param afterId Cursor - only orders with an ID greater than this are returned (null for the first page)
+     * @param limit   Maximum number of orders to return, capped at {@link #MAX_PAGE_SIZE}
+     * @return List of orders in ascending ID order, detached once the transaction ends. They are returned
+     * without a DTO copy per order and serialize to the {@link OrderResponse} JSON.
+     * @throws InvalidRequestParameterException if the limit is below 1
+     */
+    @Transactional(readOnly = true)
+    public List<Order> getOrders(Long afterId, int limit) {
+        int pageSize = pageSize(limit);
+        log.info("Fetching orders after ID: {} with limit: {}", afterId, pageSize);
+        return orderRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId, Limit.of(pageSize));
+    }
+
+    /**
+     * The page size for a requested limit, capped at {@link #MAX_PAGE_SIZE}.
+     *
+     * @throws InvalidRequestParameterException if the limit is below 1
+     */
+    private static int pageSize(int limit) {
+        if (limit < 1) {
+            throw new InvalidRequestParameterException("'limit' must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Stream all orders to the given consumer, one at a time.
+     * Rows are read through a database cursor and detached once consumed,
+     * so memory usage stays flat regardless of table size. The entities are passed on as they are,
+     * without a DTO copy per row; they serialize to the {@link OrderResponse} JSON.
+     *
+     * @param consumer Receives each order in ascending ID order
+     */
+    @Transactional(readOnly = true)
+    public void streamAllOrders(Consumer<Order> consumer) {
+        log.info("Streaming all orders");
+        try (Stream<Order> orders = orderRepository.streamAll()) {
+            orders.forEach(order -> {
+                consumer.accept(order);
+                entityManager.detach(order);
+            });
+        }
+    }
+
+    /**
+     * Export the orders created within the given range, in ID order, row by row.
+     * Rows come straight from a forward-only database cursor, so memory usage stays flat regardless
+     * of the number of orders.
+     *
+     * @param createdFrom Only orders created at or after this time (optional)
+     * @param createdTo   Only orders created before this time (optional)
+     * @param rowHandler  Receives each row of the orders table
+     * @return Number of exported orders
+     */
+    @Transactional(readOnly = true)
+    public long exportOrders(LocalDateTime createdFrom, LocalDateTime createdTo, RowCallbackHandler rowHandler) {
+        log.info("Exporting orders created from {} to {}", createdFrom, createdTo);
+        long exported = orderRepository.exportOrders(createdFrom, createdTo, rowHandler);
+        log.info("Exported {} orders", exported);
+        return exported;
+    }
+
+    /**
+     * Get a page of a customer's order history, newest first.
+     *
+     * @param customerId  The customer ID
+     * @param status      Only orders in this status (optional)
+     * @param createdFrom Only orders created at or after this time (optional)
+     * @param createdTo   Only orders created before this time (optional)
+     * @param before      Cursor from a previous page (optional), see {@link #customerOrderCursor(OrderSummary)}
+     * @param limit       Maximum number of orders to return, capped at {@link #MAX_PAGE_SIZE}
+     * @return Order summaries in descending creation order
+     * @throws InvalidRequestParameterException if the cursor is malformed or the limit is below 1
+     */
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getCustomerOrders(String customerId, OrderStatus status,
+                                                LocalDateTime createdFrom, LocalDateTime createdTo,
+                                                String before, int limit) {
+        int pageSize = pageSize(limit);
+        log.info("Fetching orders for customer: {} (status: {}, from: {}, to: {}, before: {}, limit: {})",
+                customerId, status, createdFrom, createdTo, before, pageSize);
+
+        LocalDateTime beforeCreatedAt = null;
+        Long beforeId = null;
+        if (before != null && !before.isBlank()) {
+            int separator = before.lastIndexOf(CURSOR_SEPARATOR);
+            try {
+                beforeCreatedAt = LocalDateTime.parse(before.substring(0, separator));
+                beforeId = Long.valueOf(before.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new InvalidRequestParameterException("Invalid cursor: " + before);
+            }
+        }
+
+        OrderRepositoryCustom.CustomerOrderQuery query = new OrderRepositoryCustom.CustomerOrderQuery(
+                customerId, status, createdFrom, createdTo, beforeCreatedAt, beforeId);
+        return readYourWrites.readCustomer(customerId, () -> orderRepository.findCustomerOrders(query, pageSize));
+    }
+
+    /**
+     * Cursor that continues a customer order history after the given order.
+     */
+    public static String customerOrderCursor(OrderSummary lastOrder) {
+        return lastOrder.getCreatedAt() + CURSOR_SEPARATOR + lastOrder.getId();
+    }
+
+    /**
+     * Load an order from the database for the order cache.
+     */
+    private OrderResponse loadOrder(Long id) {
+        Order order = readYourWrites.readOrder(id, () -> orderRepository.findById(id))
+                .or(() -> orderArchiveRepository.findById(id).map(OrderArchive::toOrder))
                 .orElseThrow(() -> {
                     log.error("Order not found with ID: {}", id);
                     return new OrderNotFoundException("Order not found with ID: " + id);
@@ -90,30 +381,43 @@ public class OrderService {
     }
 
     /**
-     * Get all orders.
-     *
-     * @return List of all orders
+     * Announce a new order; transactional listeners receive it after commit.
+     * Reads of the customer's history go to the primary for the read-your-writes window.
      */
-    @Transactional(readOnly = true)
-    public List<OrderResponse> getAllOrders() {
-        log.info("Fetching all orders");
-        return orderRepository.findAll().stream()
-                .map(OrderResponse::fromEntity)
-                .toList();
+    private void publishCreated(Order order) {
+        readYourWrites.recordCustomerWrite(order.getCustomerId());
+        eventPublisher.publishEvent(OrderStatusChangedEvent.created(order.getId(), order.getCreatedAt(), order.getAmount()));
     }
 
     /**
-     * Get orders by customer ID.
-     *
-     * @param customerId The customer ID
-     * @return List of orders for the customer
+     * Add an idempotency cache entry once the current transaction commits,
+     * so a rolled-back insert never leaves a key pointing at a missing order.
      */
-    @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByCustomer(String customerId) {
-        log.info("Fetching orders for customer: {}", customerId);
-        return orderRepository.findByCustomerId(customerId).stream()
-                .map(OrderResponse::fromEntity)
-                .toList();
+    private void cacheAfterCommit(String idempotencyKey, OrderResponse response) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idempotencyCache.put(idempotencyKey, response);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idempotencyCache.put(idempotencyKey, response);
+            }
+        });
+    }
+
+    /**
+     * Build a new CREATED order from a creation request.
+     */
+    private Order newOrder(CreateOrderRequest request, String idempotencyKey) {
+        return Order.builder()
+                .customerId(request.getCustomerId())
+                .productName(request.getProductName())
+                .quantity(request.getQuantity())
+                .price(request.getPrice())
+                .status(OrderStatus.CREATED)
+                .idempotencyKey(idempotencyKey)
+                .build();
     }
 
     /**
@@ -0,0 +1,287 @@
+package com.ordermanagement.service;
+
+import com.ordermanagement.dto.OrderStatsResponse;
+import com.ordermanagement.entity.OrderStatsHourly;
+import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.entity.OrderStatusTotal;
+import com.ordermanagement.event.OrderStatusChangedEvent;
+import com.ordermanagement.exception.InvalidRequestParameterException;
+import com.ordermanagement.repository.OrderStatsHourlyRepository;
+import com.ordermanagement.repository.OrderStatusTotalRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Maintains order statistics as rollups instead of computing them from the orders table.
+ * Every status change event adjusts in-memory deltas: the totals of the status the order entered
+ * and left, and the hourly bucket of the status it entered. The deltas are periodically added to the
+ * rollup tables with in-place increments, so several nodes can write the same rows.
+ * Reads combine the rollup tables with this node's deltas that are not flushed yet.
+ * <p>
+ * Deltas that are not flushed yet are lost if the node crashes. The status totals are therefore
+ * periodically reconciled with the live and archived orders; the hourly buckets record transitions,
+ * which cannot be recomputed, so they stay short by whatever a crash lost.
+ */
+@Service
+@Slf4j
+public class OrderStatsService {
+
+    private final OrderStatusTotalRepository statusTotalRepository;
+    private final OrderStatsHourlyRepository statsHourlyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<OrderStatus, Delta> pendingTotals = new ConcurrentHashMap<>();
+    private final Map<OrderStatsHourly.Key, Delta> pendingHourly = new ConcurrentHashMap<>();
+
+    // Held exclusively while a flush moves deltas to the database, so reads never miss or double count them
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    public OrderStatsService(OrderStatusTotalRepository statusTotalRepository,
+                             OrderStatsHourlyRepository statsHourlyRepository,
+                             TransactionTemplate transactionTemplate) {
+        this.statusTotalRepository = statusTotalRepository;
+        this.statsHourlyRepository = statsHourlyRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Record a status change in the pending deltas.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        BigDecimal amount = event.amount() == null ? BigDecimal.ZERO : event.amount();
+        Delta entered = new Delta(1, amount);
+
+        pendingTotals.merge(event.status(), entered, Delta::plus);
+        if (event.previousStatus() != null) {
+            pendingTotals.merge(event.previousStatus(), entered.negate(), Delta::plus);
+        }
+        pendingHourly.merge(new OrderStatsHourly.Key(hourOf(event.changedAt()), event.status()), entered, Delta::plus);
+    }
+
+    /**
+     * Add the pending deltas to the rollup tables in one transaction.
+     * If the write fails, the deltas are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${order.stats.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.writeLock().lock();
+        try {
+            Map<OrderStatus, Delta> totals = drain(pendingTotals);
+            Map<OrderStatsHourly.Key, Delta> hourly = drain(pendingHourly);
+            if (totals.isEmpty() && hourly.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    totals.forEach(this::addToTotals);
+                    hourly.forEach(this::addToHourly);
+                });
+                log.debug("Flushed order stats: {} status totals, {} hourly buckets", totals.size(), hourly.size());
+            } catch (RuntimeException e) {
+                log.error("Failed to flush order stats; keeping the deltas for the next flush", e);
+                totals.forEach((status, delta) -> pendingTotals.merge(status, delta, Delta::plus));
+                hourly.forEach((key, delta) -> pendingHourly.merge(key, delta, Delta::plus));
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Recompute the status totals from the live and archived orders, correcting drift from deltas a
+     * crashed node never flushed. The rows are set so that adding this node's pending deltas gives the
+     * computed totals. Changes committed while the orders are counted, and deltas other nodes have not
+     * flushed yet, may be counted once too few or too many until the next reconciliation.
+     */
+    @Scheduled(fixedDelayString = "${order.stats.reconcile-interval-ms:3600000}",
+            initialDelayString = "${order.stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        Map<OrderStatus, Delta> computed = new EnumMap<>(OrderStatus.class);
+        for (OrderStatusTotalRepository.StatusTotalView total : statusTotalRepository.computeTotals()) {
+            computed.put(total.getStatus(), new Delta(total.getCount(), total.getAmount()));
+        }
+
+        flushLock.writeLock().lock();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                Map<OrderStatus, Delta> stored = new EnumMap<>(OrderStatus.class);
+                for (OrderStatusTotal total : statusTotalRepository.findAll()) {
+                    stored.put(total.getStatus(), new Delta(total.getOrderCount(), total.getAmount()));
+                }
+                for (OrderStatus status : OrderStatus.values()) {
+                    Delta actual = computed.getOrDefault(status, Delta.ZERO);
+                    Delta target = actual.plus(pendingTotals.getOrDefault(status, Delta.ZERO).negate());
+                    Delta current = stored.getOrDefault(status, Delta.ZERO);
+                    if (target.count() == current.count() && target.amount().compareTo(current.amount()) == 0) {
+                        continue;
+                    }
+                    log.warn("Order stats for {} drifted: stored {} orders worth {}, expected {} worth {}; resetting",
+                            status, current.count(), current.amount(), target.count(), target.amount());
+                    if (statusTotalRepository.reset(status, target.count(), target.amount()) == 0
+                            && statusTotalRepository.insertIfAbsent(status.name(), target.count(), target.amount()) == 0) {
+                        statusTotalRepository.reset(status, target.count(), target.amount());
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to reconcile order stats; retrying at the next reconciliation", e);
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the current totals per status and the transitions into each status within a window.
+     * The window start is truncated to the hour, the granularity of the rollups.
+     *
+     * @param from Start of the window (inclusive)
+     * @param to   End of the window (exclusive)
+     * @return Order statistics
+     */
+    public OrderStatsResponse getStats(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestParameterException("'from' must be before 'to'");
+        }
+        LocalDateTime windowStart = hourOf(from);
+
+        Map<OrderStatus, Delta> totals = new EnumMap<>(OrderStatus.class);
+        Map<OrderStatsHourly.Key, Delta> hourly = new HashMap<>();
+        flushLock.readLock().lock();
+        try {
+            for (OrderStatusTotal total : statusTotalRepository.findAll()) {
+                totals.merge(total.getStatus(), new Delta(total.getOrderCount(), total.getAmount()), Delta::plus);
+            }
+            for (OrderStatsHourly bucket : statsHourlyRepository
+                    .findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(windowStart, to)) {
+                hourly.merge(new OrderStatsHourly.Key(bucket.getBucketStart(), bucket.getStatus()),
+                        new Delta(bucket.getOrderCount(), bucket.getAmount()), Delta::plus);
+            }
+            pendingTotals.forEach((status, delta) -> totals.merge(status, delta, Delta::plus));
+            pendingHourly.forEach((key, delta) -> {
+                if (!key.getBucketStart().isBefore(windowStart) && key.getBucketStart().isBefore(to)) {
+                    hourly.merge(key, delta, Delta::plus);
+                }
+            });
+        } finally {
+            flushLock.readLock().unlock();
+        }
+
+        Map<OrderStatus, OrderStatsResponse.Totals> current = new EnumMap<>(OrderStatus.class);
+        Map<OrderStatus, Delta> windowTotals = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            Delta total = totals.getOrDefault(status, Delta.ZERO);
+            current.put(status, OrderStatsResponse.Totals.builder()
+                    .count(total.count())
+                    .amount(total.amount())
+                    .build());
+            windowTotals.put(status, Delta.ZERO);
+        }
+
+        List<OrderStatsResponse.HourlyBucket> buckets = new ArrayList<>(hourly.size());
+        hourly.forEach((key, delta) -> {
+            windowTotals.merge(key.getStatus(), delta, Delta::plus);
+            buckets.add(OrderStatsResponse.HourlyBucket.builder()
+                    .hour(key.getBucketStart())
+                    .status(key.getStatus())
+                    .count(delta.count())
+                    .amount(delta.amount())
+                    .build());
+        });
+        buckets.sort(Comparator.comparing(OrderStatsResponse.HourlyBucket::getHour)
+                .thenComparing(OrderStatsResponse.HourlyBucket::getStatus));
+
+        // Throughput is measured over the elapsed part of the window only
+        LocalDateTime elapsedEnd = to.isAfter(LocalDateTime.now()) ? LocalDateTime.now() : to;
+        double minutes = Math.max(1, Duration.between(windowStart, elapsedEnd).toSeconds() / 60.0);
+        Map<OrderStatus, OrderStatsResponse.Throughput> window = new EnumMap<>(OrderStatus.class);
+        windowTotals.forEach((status, delta) -> window.put(status, OrderStatsResponse.Throughput.builder()
+                .count(delta.count())
+                .amount(delta.amount())
+                .perMinute(delta.count() / minutes)
+                .build()));
+
+        return OrderStatsResponse.builder()
+                .from(windowStart)
+                .to(to)
+                .current(current)
+                .window(window)
+                .hourly(buckets)
+                .build();
+    }
+
+    private void addToTotals(OrderStatus status, Delta delta) {
+        if (statusTotalRepository.increment(status, delta.count(), delta.amount()) == 0
+                && statusTotalRepository.insertIfAbsent(status.name(), delta.count(), delta.amount()) == 0) {
+            // Another node created the row in the meantime
+            statusTotalRepository.increment(status, delta.count(), delta.amount());
+        }
+    }
+
+    private void addToHourly(OrderStatsHourly.Key key, Delta delta) {
+        if (statsHourlyRepository.increment(key.getBucketStart(), key.getStatus(), delta.count(), delta.amount()) == 0
+                && statsHourlyRepository.insertIfAbsent(key.getBucketStart(), key.getStatus().name(),
+                delta.count(), delta.amount()) == 0) {
+            statsHourlyRepository.increment(key.getBucketStart(), key.getStatus(), delta.count(), delta.amount());
+        }
+    }
+
+    private static <K> Map<K, Delta> drain(Map<K, Delta> pending) {
+        Map<K, Delta> drained = new HashMap<>();
+        for (K key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null && !delta.isZero()) {
+                drained.put(key, delta);
+            }
+        }
+        return drained;
+    }
+
+    private static LocalDateTime hourOf(LocalDateTime time) {
+        return (time == null ? LocalDateTime.now() : time).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    /**
+     * Change in order count and total value.
+     */
+    private record Delta(long count, BigDecimal amount) {
+
+        static final Delta ZERO = new Delta(0, BigDecimal.ZERO);
+
+        Delta plus(Delta other) {
+            return new Delta(count + other.count, amount.add(other.amount));
+        }
+
+        Delta negate() {
+            return new Delta(-count, amount.negate());
+        }
+
+        boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.ordermanagement.service;
+
+import com.ordermanagement.cache.OrderCache;
+import com.ordermanagement.dto.OrderResponse;
+import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.event.OrderStatusChangedEvent;
+import com.ordermanagement.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Pushes order status changes to waiting clients (Server-Sent Events and long-poll requests).
+ * Waiting clients hold no thread: they are parked as async servlet requests and completed from
+ * {@link OrderStatusChangedEvent}s. Transitions made on other nodes are picked up by a periodic
+ * status re-check that covers all watched orders with a single query.
+ */
+@Service
+@Slf4j
+public class OrderStatusNotifier {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final OrderCache orderCache;
+    private final Duration sseTimeout;
+    private final Duration maxWait;
+
+    private final Map<Long, Set<Consumer<OrderStatusChangedEvent>>> listeners = new ConcurrentHashMap<>();
+    private final Map<Long, OrderStatus> lastKnownStatus = new ConcurrentHashMap<>();
+
+    public OrderStatusNotifier(OrderService orderService,
+                               OrderRepository orderRepository,
+                               OrderCache orderCache,
+                               @Value("${order.events.sse-timeout:5m}") Duration sseTimeout,
+                               @Value("${order.events.max-wait:60s}") Duration maxWait) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.orderCache = orderCache;
+        this.sseTimeout = sseTimeout;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Open an SSE stream for an order. The current state is sent first as an "order" event,
+     * then every transition as a "status" event. The stream completes once the order
+     * reaches a terminal status.
+     *
+     * @param orderId The order ID
+     * @return The emitter backing the event stream
+     */
+    public SseEmitter streamStatus(Long orderId) {
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        Runnable unsubscribe = subscribe(orderId, event -> {
+            try {
+                emitter.send(SseEmitter.event().name("status").data(event));
+                if (event.status().isTerminal()) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe.run());
+
+        OrderResponse current = currentState(orderId, unsubscribe);
+        try {
+            emitter.send(SseEmitter.event().name("order").data(current));
+            if (current.getStatus().isTerminal()) {
+                emitter.complete();
+            }
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Wait until an order reaches the given status (or a terminal status it can no longer leave).
+     * Answers with the current order state when the status is reached or the timeout elapses;
+     * a timeout of zero (or less) answers with the current state right away.
+     *
+     * @param orderId The order ID
+     * @param waitFor The status to wait for
+     * @param timeout How long to wait, capped at the configured maximum
+     * @return Deferred order state
+     */
+    public DeferredResult<OrderResponse> awaitStatus(Long orderId, OrderStatus waitFor, Duration timeout) {
+        long timeoutMillis = Math.min(timeout.toMillis(), maxWait.toMillis());
+        if (timeoutMillis <= 0) {
+            // An async timeout of 0 means "never" to the servlet container, so don't park the request at all
+            DeferredResult<OrderResponse> result = new DeferredResult<>();
+            result.setResult(orderService.getOrder(orderId));
+            return result;
+        }
+        DeferredResult<OrderResponse> result = new DeferredResult<>(timeoutMillis);
+
+        Runnable unsubscribe = subscribe(orderId, event -> {
+            if (isReached(event.status(), waitFor)) {
+                result.setResult(orderService.getOrder(orderId));
+            }
+        });
+        result.onCompletion(unsubscribe);
+        result.onTimeout(() -> result.setResult(orderService.getOrder(orderId)));
+
+        OrderResponse current = currentState(orderId, unsubscribe);
+        if (isReached(current.getStatus(), waitFor)) {
+            result.setResult(current);
+        }
+        return result;
+    }
+
+    /**
+     * Forward a status change to everyone watching the order.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChangedEvent event) {
+        Set<Consumer<OrderStatusChangedEvent>> orderListeners = listeners.get(event.orderId());
+        if (orderListeners == null) {
+            return;
+        }
+        lastKnownStatus.put(event.orderId(), event.status());
+        orderListeners.forEach(listener -> listener.accept(event));
+    }
+
+    /**
+     * Re-read the status of all watched orders in one query, to catch transitions
+     * that were processed (and published) on another node.
+     */
+    @Scheduled(fixedDelayString = "${order.events.recheck-interval-ms:5000}")
+    public void recheckWatchedOrders() {
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        List<OrderStatusChangedEvent> missed = new ArrayList<>();
+        for (OrderRepository.StatusView view : orderRepository.findStatusesByIdIn(listeners.keySet())) {
+            OrderStatus known = lastKnownStatus.get(view.getId());
+            if (known != null && known != view.getStatus()) {
+                missed.add(new OrderStatusChangedEvent(view.getId(), known, view.getStatus(), LocalDateTime.now()));
+            }
+        }
+
+        if (!missed.isEmpty()) {
+            log.debug("Re-check found {} status changes made elsewhere", missed.size());
+            orderCache.evictAll(missed.stream().map(OrderStatusChangedEvent::orderId).toList());
+            missed.forEach(this::onStatusChanged);
+        }
+    }
+
+    /**
+     * Register a listener for an order.
+     *
+     * @return Callback that removes the listener again
+     */
+    private Runnable subscribe(Long orderId, Consumer<OrderStatusChangedEvent> listener) {
+        listeners.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet()).add(listener);
+        return () -> listeners.computeIfPresent(orderId, (id, orderListeners) -> {
+            orderListeners.remove(listener);
+            if (orderListeners.isEmpty()) {
+                lastKnownStatus.remove(id);
+                return null;
+            }
+            return orderListeners;
+        });
+    }
+
+    /**
+     * Read the current order state after subscribing, so no transition is missed in between.
+     */
+    private OrderResponse currentState(Long orderId, Runnable unsubscribe) {
+        try {
+            OrderResponse current = orderService.getOrder(orderId);
+            lastKnownStatus.putIfAbsent(orderId, current.getStatus());
+            return current;
+        } catch (RuntimeException e) {
+            unsubscribe.run();
+            throw e;
+        }
+    }
+
+    private static boolean isReached(OrderStatus status, OrderStatus waitFor) {
+        return status == waitFor || status.isTerminal();
+    }
+}
@@ -0,0 +1,52 @@
+package com.ordermanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with full jitter for transient order processing failures.
+ * The delay before attempt {@code n + 1} is a random value between 0 and
+ * {@code min(maxDelay, initialDelay * multiplier^(n - 1))}, which spreads retries
+ * of orders that failed together instead of retrying them in lockstep.
+ */
+@Component
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final Duration initialDelay;
+    private final double multiplier;
+    private final Duration maxDelay;
+
+    public RetryPolicy(@Value("${order.processing.retry.max-attempts:5}") int maxAttempts,
+                       @Value("${order.processing.retry.initial-delay:2s}") Duration initialDelay,
+                       @Value("${order.processing.retry.multiplier:2.0}") double multiplier,
+                       @Value("${order.processing.retry.max-delay:5m}") Duration maxDelay) {
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.multiplier = multiplier;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Whether an order that has failed the given number of attempts may be tried again.
+     */
+    public boolean canRetry(int failedAttempts) {
+        return failedAttempts < maxAttempts;
+    }
+
+    /**
+     * Delay before the next attempt of an order that has failed the given number of attempts.
+     */
+    public Duration nextDelay(int failedAttempts) {
+        double cap = Math.min(maxDelay.toMillis(),
+                initialDelay.toMillis() * Math.pow(multiplier, Math.max(failedAttempts - 1, 0)));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong((long) cap + 1));
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+}
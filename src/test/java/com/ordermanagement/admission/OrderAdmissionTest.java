@@ -0,0 +1,101 @@
+package com.ordermanagement.admission;
+
+import com.ordermanagement.service.OrderQueuePoller;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderAdmissionTest {
+
+    @Mock
+    private ObjectProvider<OrderQueuePoller> pollerProvider;
+
+    @Mock
+    private OrderQueuePoller poller;
+
+    @Test
+    @DisplayName("Should rate limit a customer once its burst is used up")
+    void admit_CustomerBurstExceeded_RateLimited() {
+        OrderAdmission admission = admission(1000, 1000, 0.1, 2);
+
+        admission.admit("CUST001");
+        admission.admit("CUST001");
+
+        assertThatThrownBy(() -> admission.admit("CUST001"))
+                .isInstanceOf(OrderAdmission.RateLimitedException.class)
+                .satisfies(ex -> assertThat(((OrderAdmission.RateLimitedException) ex).getRetryAfter())
+                        .isPositive());
+        assertThatCode(() -> admission.admit("CUST002")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should rate limit all customers once the global burst is used up")
+    void admit_GlobalBurstExceeded_RateLimited() {
+        OrderAdmission admission = admission(0.1, 3, 1000, 1000);
+
+        admission.admitAll(List.of("CUST001", "CUST002", "CUST003"));
+
+        assertThatThrownBy(() -> admission.admit("CUST004"))
+                .isInstanceOf(OrderAdmission.RateLimitedException.class);
+    }
+
+    @Test
+    @DisplayName("Should leave the customer budget intact when the global bucket rejects")
+    void admit_GlobalRejection_CustomerTokensRefunded() throws InterruptedException {
+        OrderAdmission admission = admission(10, 1, 0.1, 2);
+        // A full global bucket admits the whole batch and then needs 200ms to refill
+        admission.admitAll(List.of("CUST001", "CUST001"));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> admission.admit("CUST002"))
+                    .isInstanceOf(OrderAdmission.RateLimitedException.class)
+                    .hasMessage("Too many orders. Please retry later.");
+        }
+        Thread.sleep(300);
+
+        // Needs CUST002's whole burst of 2, so no rejected attempt may have spent a token
+        assertThatCode(() -> admission.admitAll(List.of("CUST002", "CUST002"))).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should shed load while the processing queue is too deep")
+    void admit_QueueTooDeep_Overloaded() {
+        when(pollerProvider.getIfAvailable()).thenReturn(poller);
+        when(poller.getQueueDepth()).thenReturn(101L);
+        OrderAdmission admission = admission(1000, 1000, 1000, 1000);
+
+        assertThatThrownBy(() -> admission.admit("CUST001"))
+                .isInstanceOf(OrderAdmission.OverloadedException.class)
+                .satisfies(ex -> assertThat(((OrderAdmission.OverloadedException) ex).getRetryAfter())
+                        .isEqualTo(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    @DisplayName("Should admit a batch larger than the burst when the bucket is full")
+    void admitAll_LargeBatchWithFullBucket_Admitted() {
+        OrderAdmission admission = admission(1000, 1000, 0.1, 2);
+
+        admission.admitAll(List.of("CUST001", "CUST001", "CUST001", "CUST001"));
+
+        assertThatThrownBy(() -> admission.admit("CUST001"))
+                .isInstanceOf(OrderAdmission.RateLimitedException.class);
+    }
+
+    private OrderAdmission admission(double globalRate, double globalBurst, double customerRate, double customerBurst) {
+        return new OrderAdmission(pollerProvider, new SimpleMeterRegistry(), true, 100, Duration.ofSeconds(5),
+                globalRate, globalBurst, customerRate, customerBurst, 1000);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ordermanagement.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(AsyncConfig.class);
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    @DisplayName("Should fail startup when virtual threads are enabled on a JDK without them")
+    void virtualThreadsEnabled_OldJdk_FailsStartup() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure().hasRootCauseMessage(
+                                "spring.threads.virtual.enabled requires JDK 21 or later, but this is JDK "
+                                        + System.getProperty("java.version")
+                                        + ". Run on JDK 21+ or disable the virtual-threads profile."));
+    }
+
+    @Test
+    @DisplayName("Should start with platform stage executors by default")
+    void virtualThreadsDisabled_Starts() {
+        contextRunner.run(context -> assertThat(context).hasNotFailed().hasBean("stageExecutorFactory"));
+    }
+}
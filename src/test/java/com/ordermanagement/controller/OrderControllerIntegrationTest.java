@@ -1,23 +1,44 @@
 package com.ordermanagement.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordermanagement.dto.BatchCreateOrderRequest;
 import com.ordermanagement.dto.CreateOrderRequest;
 import com.ordermanagement.entity.Order;
 import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.event.OrderStatusChangedEvent;
 import com.ordermanagement.repository.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mockStatic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -35,6 +56,12 @@ class OrderControllerIntegrationTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @BeforeEach
     void setUp() {
         orderRepository.deleteAll();
@@ -93,6 +120,41 @@ class OrderControllerIntegrationTest {
         assertThat(orderRepository.count()).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("Should create exactly one order for concurrent requests with the same idempotency key")
+    void createOrder_ConcurrentDuplicateIdempotencyKey_ReturnsSameOrder() throws Exception {
+        CreateOrderRequest request = CreateOrderRequest.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .build();
+        String body = objectMapper.writeValueAsString(request);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Idempotency-Key", "concurrent-key-001")
+                        .content(body))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString()));
+            }
+
+            Set<Long> orderIds = new HashSet<>();
+            for (Future<String> response : responses) {
+                orderIds.add(objectMapper.readTree(response.get()).get("id").asLong());
+            }
+            assertThat(orderIds).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("Should return validation error for invalid request")
     void createOrder_InvalidRequest_ReturnsValidationError() throws Exception {
@@ -130,6 +192,69 @@ class OrderControllerIntegrationTest {
                 .andExpect(jsonPath("$.productName").value("Laptop"));
     }
 
+    @Test
+    @DisplayName("Should answer conditional order reads with 304 until the order changes")
+    void getOrder_ConditionalRequest_NotModifiedUntilChanged() throws Exception {
+        Order savedOrder = orderRepository.save(Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(OrderStatus.CREATED)
+                .build());
+
+        MvcResult first = mockMvc.perform(get("/api/orders/{id}", savedOrder.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String eTag = first.getResponse().getHeader("ETag");
+        String lastModified = first.getResponse().getHeader("Last-Modified");
+
+        mockMvc.perform(get("/api/orders/{id}", savedOrder.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/orders/{id}", savedOrder.getId()).header("If-Modified-Since", lastModified))
+                .andExpect(status().isNotModified());
+
+        savedOrder.setStatus(OrderStatus.COMPLETED);
+        orderRepository.save(savedOrder);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                savedOrder.getId(), OrderStatus.CREATED, OrderStatus.COMPLETED, LocalDateTime.now()));
+
+        mockMvc.perform(get("/api/orders/{id}", savedOrder.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    @Test
+    @DisplayName("Should give an order written at a sub-microsecond time the same ETag in memory and from the database")
+    void getOrder_SubMicrosecondUpdateTime_ETagMatchesStoredOrder() throws Exception {
+        // 789 ns past the microsecond: the database would round this up if it were written as is
+        LocalDateTime subMicros = LocalDateTime.of(2024, 1, 5, 9, 3, 0, 123_456_789);
+        Order savedOrder;
+        try (MockedStatic<LocalDateTime> clock = mockStatic(LocalDateTime.class, CALLS_REAL_METHODS)) {
+            clock.when(LocalDateTime::now).thenReturn(subMicros);
+            savedOrder = orderRepository.save(Order.builder()
+                    .customerId("CUST001")
+                    .productName("Laptop")
+                    .quantity(1)
+                    .price(new BigDecimal("999.99"))
+                    .status(OrderStatus.CREATED)
+                    .build());
+        }
+        LocalDateTime updatedAt = savedOrder.getUpdatedAt();
+        String inMemoryETag = "\"" + savedOrder.getId() + "-" + updatedAt.toEpochSecond(ZoneOffset.UTC)
+                + "." + updatedAt.getNano() + "\"";
+
+        mockMvc.perform(get("/api/orders/{id}", savedOrder.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", inMemoryETag));
+        mockMvc.perform(get("/api/orders/{id}", savedOrder.getId()).header("If-None-Match", inMemoryETag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     @DisplayName("Should return 404 for non-existent order")
     void getOrder_NotFound() throws Exception {
@@ -158,8 +283,350 @@ class OrderControllerIntegrationTest {
                 .status(OrderStatus.COMPLETED)
                 .build());
 
+        // Entities are written in the OrderResponse shape, without the idempotency key
         mockMvc.perform(get("/api/orders"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].productName").value("Laptop"))
+                .andExpect(jsonPath("$[1].status").value("COMPLETED"))
+                .andExpect(jsonPath("$[0].idempotencyKey").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should page through orders with the next cursor")
+    void getAllOrders_KeysetPagination() throws Exception {
+        Order first = orderRepository.save(Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(OrderStatus.CREATED)
+                .build());
+
+        Order second = orderRepository.save(Order.builder()
+                .customerId("CUST002")
+                .productName("Phone")
+                .quantity(2)
+                .price(new BigDecimal("599.99"))
+                .status(OrderStatus.CREATED)
+                .build());
+
+        mockMvc.perform(get("/api/orders").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", String.valueOf(first.getId())))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(first.getId()));
+
+        mockMvc.perform(get("/api/orders").param("after", String.valueOf(first.getId())).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(second.getId()));
+
+        mockMvc.perform(get("/api/orders").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should page through a customer's orders newest first with filters")
+    void getOrdersByCustomer_PagedNewestFirst() throws Exception {
+        Order oldest = orderRepository.save(customerOrder("CUST001", OrderStatus.COMPLETED));
+        Order middle = orderRepository.save(customerOrder("CUST001", OrderStatus.FAILED));
+        Order newest = orderRepository.save(customerOrder("CUST001", OrderStatus.COMPLETED));
+        orderRepository.save(customerOrder("CUST002", OrderStatus.COMPLETED));
+
+        String cursor = mockMvc.perform(get("/api/orders/customer/{customerId}", "CUST001").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(newest.getId()))
+                .andExpect(jsonPath("$[1].id").value(middle.getId()))
+                .andExpect(jsonPath("$[0].customerId").doesNotExist())
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/orders/customer/{customerId}", "CUST001").param("before", cursor).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(oldest.getId()));
+
+        mockMvc.perform(get("/api/orders/customer/{customerId}", "CUST001").param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(newest.getId()))
+                .andExpect(jsonPath("$[1].id").value(oldest.getId()));
+
+        mockMvc.perform(get("/api/orders/customer/{customerId}", "CUST001").param("status", "UNKNOWN"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/customer/{customerId}", "CUST001").param("limit", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should stream all orders as NDJSON")
+    void streamAllOrders_Success() throws Exception {
+        orderRepository.save(Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(OrderStatus.CREATED)
+                .build());
+
+        orderRepository.save(Order.builder()
+                .customerId("CUST002")
+                .productName("Phone")
+                .quantity(2)
+                .price(new BigDecimal("599.99"))
+                .status(OrderStatus.COMPLETED)
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/api/orders/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(2);
+        assertThat(body.lines().toList().get(1)).contains("\"productName\":\"Phone\"");
+    }
+
+    @Test
+    @DisplayName("Should export orders in a creation range as CSV")
+    void exportOrders_Csv() throws Exception {
+        orderRepository.save(Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop, 15\"")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(OrderStatus.COMPLETED)
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/api/orders/export")
+                        .param("format", "csv")
+                        .param("from", LocalDateTime.now().minusHours(1).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).startsWith("id,customerId,productName,quantity,price,status");
+        assertThat(lines.get(1)).contains(",CUST001,\"Laptop, 15\"\"\",1,999.99,COMPLETED,");
+    }
+
+    @Test
+    @DisplayName("Should export orders as gzipped JSON Lines and reject unknown formats")
+    void exportOrders_GzippedJsonLines() throws Exception {
+        orderRepository.save(Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(OrderStatus.CREATED)
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/api/orders/export")
+                        .param("format", "jsonl")
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(json.lines()).singleElement()
+                .satisfies(line -> assertThat(line).contains("\"productName\":\"Laptop\"", "\"price\":999.99"));
+
+        mockMvc.perform(get("/api/orders/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should write JSON Lines timestamps with seconds at whole minutes")
+    void exportOrders_JsonLinesWholeMinute_WritesSeconds() throws Exception {
+        Order order = orderRepository.save(Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(OrderStatus.CREATED)
+                .build());
+        transactionTemplate.executeWithoutResult(tx -> orderRepository.updateStatus(
+                List.of(order.getId()), OrderStatus.COMPLETED, LocalDateTime.of(2024, 1, 5, 10, 0)));
+
+        MvcResult result = mockMvc.perform(get("/api/orders/export").param("format", "jsonl"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String json = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(json.lines()).singleElement()
+                .satisfies(line -> assertThat(line).contains("\"updatedAt\":\"2024-01-05T10:00:00\""));
+    }
+
+    @Test
+    @DisplayName("Should create a batch of orders and resolve duplicate idempotency keys")
+    void createOrders_Batch_ResolvesIdempotencyKeys() throws Exception {
+        CreateOrderRequest laptop = CreateOrderRequest.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .build();
+
+        mockMvc.perform(post("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotency-Key", "batch-key-001")
+                .content(objectMapper.writeValueAsString(laptop)))
+                .andExpect(status().isCreated());
+
+        BatchCreateOrderRequest batch = BatchCreateOrderRequest.builder()
+                .orders(List.of(
+                        BatchCreateOrderRequest.Item.builder().idempotencyKey("batch-key-001").order(laptop).build(),
+                        BatchCreateOrderRequest.Item.builder().idempotencyKey("batch-key-002").order(laptop).build(),
+                        BatchCreateOrderRequest.Item.builder().idempotencyKey("batch-key-002").order(laptop).build(),
+                        BatchCreateOrderRequest.Item.builder().order(laptop).build()))
+                .build();
+
+        mockMvc.perform(post("/api/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.createdCount").value(2))
+                .andExpect(jsonPath("$.existingCount").value(2))
+                .andExpect(jsonPath("$.results[0].outcome").value("EXISTING"))
+                .andExpect(jsonPath("$.results[1].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[2].outcome").value("EXISTING"))
+                .andExpect(jsonPath("$.results[3].outcome").value("CREATED"));
+
+        assertThat(orderRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should return validation error for an invalid batch item")
+    void createOrders_InvalidItem_ReturnsValidationError() throws Exception {
+        BatchCreateOrderRequest batch = BatchCreateOrderRequest.builder()
+                .orders(List.of(BatchCreateOrderRequest.Item.builder()
+                        .order(CreateOrderRequest.builder()
+                                .customerId("CUST001")
+                                .productName("Laptop")
+                                .quantity(0)
+                                .price(new BigDecimal("999.99"))
+                                .build())
+                        .build()))
+                .build();
+
+        mockMvc.perform(post("/api/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors['orders[0].order.quantity']").exists());
+
+        assertThat(orderRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should answer a long-poll once the order reaches the awaited status")
+    void waitForOrderStatus_CompletesOnStatusChange() throws Exception {
+        Order order = orderRepository.save(Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(OrderStatus.CREATED)
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/api/orders/{id}", order.getId())
+                        .param("waitFor", "COMPLETED")
+                        .param("timeout", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        order.setStatus(OrderStatus.COMPLETED);
+        orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                order.getId(), OrderStatus.CREATED, OrderStatus.COMPLETED, LocalDateTime.now()));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    @Test
+    @DisplayName("Should answer a long-poll with a zero timeout with the current state right away")
+    void waitForOrderStatus_ZeroTimeout_ReturnsCurrentState() throws Exception {
+        Order order = orderRepository.save(Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(OrderStatus.CREATED)
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/api/orders/{id}", order.getId())
+                        .param("waitFor", "COMPLETED")
+                        .param("timeout", "0"))
+                .andReturn();
+
+        assertThat(result.getAsyncResult(1000)).isNotNull();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CREATED"));
+    }
+
+    @Test
+    @DisplayName("Should send the current state and complete the event stream for a terminal order")
+    void streamOrderEvents_TerminalOrder_CompletesStream() throws Exception {
+        Order order = orderRepository.save(Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(OrderStatus.FAILED)
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/api/orders/{id}/events", order.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).contains("event:order").contains("\"status\":\"FAILED\"");
+    }
+
+
+    @Test
+    @DisplayName("Should return order statistics and reject an empty window")
+    void getOrderStats() throws Exception {
+        mockMvc.perform(get("/api/orders/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.current.CREATED.count").isNumber())
+                .andExpect(jsonPath("$.window.COMPLETED.perMinute").isNumber())
+                .andExpect(jsonPath("$.hourly").isArray());
+
+        mockMvc.perform(get("/api/orders/stats")
+                        .param("from", "2024-01-02T00:00:00")
+                        .param("to", "2024-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+    private Order customerOrder(String customerId, OrderStatus status) {
+        return Order.builder()
+                .customerId(customerId)
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(status)
+                .build();
     }
 }
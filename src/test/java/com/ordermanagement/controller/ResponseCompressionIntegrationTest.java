@@ -0,0 +1,89 @@
+package com.ordermanagement.controller;
+
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the embedded Tomcat, since compression and HTTP/2 happen in the connector, not in MVC.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ResponseCompressionIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            orders.add(Order.builder()
+                    .customerId("CUST" + i)
+                    .productName("Laptop")
+                    .quantity(1)
+                    .price(new BigDecimal("999.99"))
+                    .status(OrderStatus.COMPLETED)
+                    .build());
+        }
+        orderRepository.saveAll(orders);
+    }
+
+    @Test
+    @DisplayName("Should gzip large JSON responses when the client accepts it")
+    void getAllOrders_AcceptsGzip_Compressed() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(uri("/api/orders"))
+                .header("Accept-Encoding", "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        String json = new String(new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertThat(json).startsWith("[").contains("\"customerId\":\"CUST49\"");
+        assertThat(response.body().length).isLessThan(json.length() / 2);
+    }
+
+    @Test
+    @DisplayName("Should serve cleartext HTTP/2 (h2c)")
+    void getAllOrders_Http2Client_ServedOverH2c() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/orders?limit=1")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.version()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,58 @@
+package com.ordermanagement.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionPoolSizingTest {
+
+    @Test
+    @DisplayName("Should size the pool from the executor, scheduler and request connections")
+    void sizeFromConcurrency_SizesFixedPool() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("order.datasource.pool.size-from-concurrency", "true")
+                .withProperty("spring.task.execution.pool.core-size", "4")
+                .withProperty("spring.task.execution.pool.max-size", "6")
+                .withProperty("spring.task.execution.pool.queue-capacity", "50")
+                .withProperty("spring.task.scheduling.pool.size", "2")
+                .withProperty("order.datasource.pool.request-connections", "3");
+
+        HikariDataSource dataSource = process(environment, "dataSource");
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(11);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("Should keep an explicitly configured pool size")
+    void sizeFromConcurrency_ExplicitSize_Kept() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("order.datasource.pool.size-from-concurrency", "true")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "7");
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(7);
+        new ConnectionPoolSizing(environment).postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should leave the pool alone unless sizing from concurrency is enabled")
+    void sizeFromConcurrency_Disabled_Unchanged() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(5);
+        new ConnectionPoolSizing(new MockEnvironment()).postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(5);
+    }
+
+    private HikariDataSource process(MockEnvironment environment, String beanName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        new ConnectionPoolSizing(environment).postProcessAfterInitialization(dataSource, beanName);
+        return dataSource;
+    }
+}
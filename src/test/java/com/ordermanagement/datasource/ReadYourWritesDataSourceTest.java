@@ -0,0 +1,81 @@
+package com.ordermanagement.datasource;
+
+import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.event.OrderStatusChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReadYourWritesDataSource(primary, replica));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should run read-only transactions on the replica and others on the primary")
+    void routesByReadOnlyFlag() {
+        assertThat(databaseName(readOnlyTransaction)).isEqualTo("replica");
+        assertThat(databaseName(readWriteTransaction)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should run a read-only transaction on the primary when asked to")
+    void onPrimary_UsesPrimary() {
+        assertThat(ReadYourWritesDataSource.onPrimary(() -> databaseName(readOnlyTransaction)))
+                .isEqualTo("primary");
+        assertThat(databaseName(readOnlyTransaction)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should read recently written orders from the primary")
+    void readOrder_RecentlyWritten_UsesPrimary() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMinutes(1));
+        readYourWrites.onStatusChanged(new OrderStatusChangedEvent(
+                1L, OrderStatus.CREATED, OrderStatus.PROCESSING, LocalDateTime.now()));
+
+        assertThat(readYourWrites.readOrder(1L, () -> databaseName(readOnlyTransaction)))
+                .isEqualTo("primary");
+        assertThat(readYourWrites.readOrder(2L, () -> databaseName(readOnlyTransaction)))
+                .isEqualTo("replica");
+    }
+
+    private String databaseName(TransactionTemplate transaction) {
+        return transaction.execute(tx -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
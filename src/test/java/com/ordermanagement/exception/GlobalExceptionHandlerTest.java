@@ -0,0 +1,60 @@
+package com.ordermanagement.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("Should answer a duplicate idempotency key with 409")
+    void handleDataIntegrityViolation_DuplicateIdempotencyKey_Conflict() {
+        DataIntegrityViolationException ex = violation(
+                "duplicate key value violates unique constraint \"idx_idempotency_key\"", "23505", "idx_idempotency_key");
+
+        assertThat(handler.handleDataIntegrityViolation(ex).getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    @DisplayName("Should answer any other integrity violation with 500")
+    void handleDataIntegrityViolation_OtherConstraint_InternalServerError() {
+        DataIntegrityViolationException notNull = violation(
+                "null value in column \"customer_id\" violates not-null constraint", "23502", null);
+        DataIntegrityViolationException otherUnique = violation(
+                "duplicate key value violates unique constraint \"orders_pkey\"", "23505", "orders_pkey");
+
+        assertThat(handler.handleDataIntegrityViolation(notNull).getStatusCode())
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(handler.handleDataIntegrityViolation(otherUnique).getStatusCode())
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    @DisplayName("Should answer only invalid request parameters with 400, not any IllegalArgumentException")
+    void handleBadRequest_OnlyInvalidRequestParameters() {
+        assertThat(handler.handleBadRequest(new InvalidRequestParameterException("Invalid cursor: x")).getBody())
+                .satisfies(error -> {
+                    assertThat(error.getStatus()).isEqualTo(400);
+                    assertThat(error.getMessage()).isEqualTo("Invalid cursor: x");
+                });
+        assertThat(handler.handleGenericException(new IllegalArgumentException("internal detail")).getBody())
+                .satisfies(error -> {
+                    assertThat(error.getStatus()).isEqualTo(500);
+                    assertThat(error.getMessage()).isEqualTo("An unexpected error occurred");
+                });
+    }
+
+    private static DataIntegrityViolationException violation(String message, String sqlState, String constraintName) {
+        SQLException sqlException = new SQLException(message, sqlState);
+        return new DataIntegrityViolationException("could not execute batch",
+                new ConstraintViolationException("could not execute batch", sqlException, constraintName));
+    }
+}
@@ -0,0 +1,105 @@
+package com.ordermanagement.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ordermanagement.dto.OrderResponse;
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderJsonModuleTest {
+
+    // Spring Boot's MVC ObjectMapper: the builder defaults plus ISO dates instead of numeric timestamps
+    private final ObjectMapper defaultMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper orderMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new OrderJsonModule())
+            .build();
+
+    @Test
+    @DisplayName("Should write an order response exactly like the reflective serializer")
+    void serializeResponse_MatchesDefaultMapper() throws Exception {
+        for (Order order : orders()) {
+            OrderResponse response = OrderResponse.fromEntity(order);
+
+            assertThat(orderMapper.writeValueAsString(response))
+                    .isEqualTo(defaultMapper.writeValueAsString(response));
+        }
+    }
+
+    @Test
+    @DisplayName("Should write an order entity as the order response JSON")
+    void serializeEntity_MatchesResponse() throws Exception {
+        for (Order order : orders()) {
+            assertThat(orderMapper.writeValueAsString(order))
+                    .isEqualTo(defaultMapper.writeValueAsString(OrderResponse.fromEntity(order)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should follow the mapper's setting for writing dates as timestamps")
+    void serializeResponse_DatesAsTimestamps_MatchesDefaultMapper() throws Exception {
+        ObjectMapper timestampMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper timestampOrderMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new OrderJsonModule())
+                .build();
+
+        for (Order order : orders()) {
+            OrderResponse response = OrderResponse.fromEntity(order);
+
+            assertThat(timestampOrderMapper.writeValueAsString(response))
+                    .isEqualTo(timestampMapper.writeValueAsString(response));
+            assertThat(timestampOrderMapper.writeValueAsString(order))
+                    .isEqualTo(timestampMapper.writeValueAsString(response));
+        }
+    }
+
+    private List<Order> orders() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 5, 9, 3, 0);
+        return List.of(
+                Order.builder()
+                        .id(1L)
+                        .customerId("CUST001")
+                        .productName("Laptop \"Pro\" 15é")
+                        .quantity(2)
+                        .price(new BigDecimal("999.90"))
+                        .status(OrderStatus.COMPLETED)
+                        .idempotencyKey("key-1")
+                        .createdAt(createdAt)
+                        .updatedAt(createdAt.withNano(120_000_000))
+                        .build(),
+                Order.builder()
+                        .id(2L)
+                        .customerId("CUST002")
+                        .productName("Phone")
+                        .quantity(1)
+                        .price(new BigDecimal("1E+3"))
+                        .status(OrderStatus.CREATED)
+                        .createdAt(createdAt.withNano(123_456_789))
+                        .updatedAt(createdAt.withNano(1_000))
+                        .failureReason("inventory unavailable")
+                        .attempts(1)
+                        .nextAttemptAt(LocalDateTime.of(12024, 12, 31, 23, 59, 59))
+                        .build(),
+                Order.builder()
+                        .id(3L)
+                        .customerId("CUST003")
+                        .productName("Tablet")
+                        .quantity(5)
+                        .price(new BigDecimal("0.01"))
+                        .build());
+    }
+}
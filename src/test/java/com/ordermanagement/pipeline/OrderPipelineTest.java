@@ -0,0 +1,47 @@
+package com.ordermanagement.pipeline;
+
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.metrics.OrderMetrics;
+import com.ordermanagement.service.OrderProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderPipelineTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should fail an order transiently and count it when a stage executor rejects it")
+    void submit_ExecutorRejects_TransientFailureCounted() {
+        ProcessingStage stage = new ProcessingStage() {
+            @Override
+            public String name() {
+                return "inventory-check";
+            }
+
+            @Override
+            public void process(Order order) {
+            }
+        };
+        StageExecutorFactory rejectingExecutors = (stageName, concurrency) -> task -> {
+            throw new RejectedExecutionException("Stage executor is shut down");
+        };
+        OrderPipeline pipeline = new OrderPipeline(List.of(stage), rejectingExecutors,
+                new OrderMetrics(registry), new MockEnvironment(), 2);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        pipeline.submit(Order.builder().id(1L).build(), (order, e) -> failure.set(e));
+
+        assertThat(failure.get()).isInstanceOf(OrderProcessor.TransientProcessingException.class);
+        assertThat(registry.get("order.processing.stage.rejected").tag("stage", "inventory-check").counter().count())
+                .isEqualTo(1);
+    }
+}
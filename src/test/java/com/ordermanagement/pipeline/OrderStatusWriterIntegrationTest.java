@@ -0,0 +1,157 @@
+package com.ordermanagement.pipeline;
+
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderOutbox;
+import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.repository.OrderOutboxRepository;
+import com.ordermanagement.repository.OrderRepository;
+import com.ordermanagement.repository.OrderRepositoryCustom.StatusChange;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderStatusWriterIntegrationTest {
+
+    @Autowired
+    private OrderStatusWriter orderStatusWriter;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        orderOutboxRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should write queued status changes and retry outbox entries in one flush")
+    void flush_WritesStatusesAndRetries() {
+        Order completed = orderRepository.save(processingOrder());
+        Order retried = orderRepository.save(processingOrder());
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plusMinutes(1);
+        AtomicInteger callbacks = new AtomicInteger();
+
+        orderStatusWriter.enqueue(new StatusChange(completed.getId(), OrderStatus.COMPLETED, null, 0, null, completed.getUpdatedAt()),
+                OrderStatus.PROCESSING, completed.getAmount(), callbacks::incrementAndGet);
+        orderStatusWriter.enqueue(new StatusChange(retried.getId(), OrderStatus.CREATED, "inventory unavailable", 1, nextAttemptAt,
+                        retried.getUpdatedAt()),
+                OrderStatus.PROCESSING, retried.getAmount(), callbacks::incrementAndGet);
+        orderStatusWriter.flush();
+
+        assertThat(callbacks.get()).isEqualTo(2);
+        assertThat(orderRepository.findById(completed.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.COMPLETED);
+        Order retriedOrder = orderRepository.findById(retried.getId()).orElseThrow();
+        assertThat(retriedOrder.getStatus()).isEqualTo(OrderStatus.CREATED);
+        assertThat(retriedOrder.getAttempts()).isEqualTo(1);
+        assertThat(retriedOrder.getFailureReason()).isEqualTo("inventory unavailable");
+        assertThat(orderOutboxRepository.findAll())
+                .extracting(OrderOutbox::getOrderId)
+                .containsExactly(retried.getId());
+    }
+
+    @Test
+    @DisplayName("Should drop a status change for an order that already left the expected status")
+    void flush_OrderAlreadyMovedOn_DropsChange() {
+        Order order = orderRepository.save(processingOrder());
+        AtomicInteger callbacks = new AtomicInteger();
+
+        // Another worker finished the order first
+        orderStatusWriter.enqueue(new StatusChange(order.getId(), OrderStatus.COMPLETED, null, 0, null, order.getUpdatedAt()),
+                OrderStatus.PROCESSING, order.getAmount(), callbacks::incrementAndGet);
+        orderStatusWriter.flush();
+        orderStatusWriter.enqueue(new StatusChange(order.getId(), OrderStatus.CREATED, "inventory unavailable", 1,
+                LocalDateTime.now().plusMinutes(1), order.getUpdatedAt()), OrderStatus.PROCESSING, order.getAmount(), callbacks::incrementAndGet);
+        orderStatusWriter.flush();
+
+        assertThat(callbacks.get()).isEqualTo(2);
+        Order written = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(written.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(written.getAttempts()).isZero();
+        assertThat(orderOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop a status change for an order that was reclaimed and claimed again since")
+    void flush_OrderClaimedAgain_DropsChange() {
+        Order order = orderRepository.save(processingOrder());
+        LocalDateTime claimedAt = order.getUpdatedAt();
+        double conflicts = conflictCount();
+        AtomicInteger callbacks = new AtomicInteger();
+
+        // The lease expired: the sweeper moved the order back to CREATED and another worker claimed it
+        transactionTemplate.executeWithoutResult(tx -> orderRepository.transitionStatus(List.of(order.getId()),
+                OrderStatus.PROCESSING, OrderStatus.CREATED, claimedAt.plusMinutes(5)));
+        transactionTemplate.executeWithoutResult(tx -> orderRepository.transitionStatus(List.of(order.getId()),
+                OrderStatus.CREATED, OrderStatus.PROCESSING, claimedAt.plusMinutes(6)));
+        orderStatusWriter.enqueue(new StatusChange(order.getId(), OrderStatus.FAILED, "payment declined", 1, null, claimedAt),
+                OrderStatus.PROCESSING, order.getAmount(), callbacks::incrementAndGet);
+        orderStatusWriter.flush();
+
+        assertThat(callbacks.get()).isEqualTo(1);
+        Order written = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(written.getStatus()).isEqualTo(OrderStatus.PROCESSING);
+        assertThat(written.getAttempts()).isZero();
+        assertThat(conflictCount()).isEqualTo(conflicts + 1);
+    }
+
+    @Test
+    @DisplayName("Should write the rest of a batch one by one when one change cannot be written")
+    void flush_OneChangeFails_WritesOthersOneByOne() {
+        Order completed = orderRepository.save(processingOrder());
+        Order broken = orderRepository.save(processingOrder());
+        AtomicInteger callbacks = new AtomicInteger();
+
+        orderStatusWriter.enqueue(new StatusChange(completed.getId(), OrderStatus.COMPLETED, null, 0, null, completed.getUpdatedAt()),
+                OrderStatus.PROCESSING, completed.getAmount(), callbacks::incrementAndGet);
+        // Too long for the failure_reason column
+        orderStatusWriter.enqueue(new StatusChange(broken.getId(), OrderStatus.FAILED,
+                        "x".repeat(Order.FAILURE_REASON_LENGTH + 1), 1, null, broken.getUpdatedAt()),
+                OrderStatus.PROCESSING, broken.getAmount(), callbacks::incrementAndGet);
+        orderStatusWriter.flush();
+
+        assertThat(callbacks.get()).isEqualTo(2);
+        assertThat(orderRepository.findById(completed.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.COMPLETED);
+        assertThat(orderRepository.findById(broken.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.PROCESSING);
+    }
+
+    private double conflictCount() {
+        return meterRegistry.get("order.status.conflicts").tag("status", OrderStatus.PROCESSING.name()).counter().count();
+    }
+
+    private Order processingOrder() {
+        return Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(OrderStatus.PROCESSING)
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.ordermanagement.service;
+
+import com.ordermanagement.dto.OrderResponse;
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderArchive;
+import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.repository.OrderArchiveRepository;
+import com.ordermanagement.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderArchiverIntegrationTest {
+
+    @Autowired
+    private OrderArchiver orderArchiver;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        orderArchiveRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should move only old terminal orders to the archive and still serve them by ID")
+    void archive_MovesOldTerminalOrders() {
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(365);
+        Order oldCompleted = orderRepository.save(newOrder(OrderStatus.COMPLETED));
+        Order oldFailed = orderRepository.save(newOrder(OrderStatus.FAILED));
+        Order oldCreated = orderRepository.save(newOrder(OrderStatus.CREATED));
+        Order recentCompleted = orderRepository.save(newOrder(OrderStatus.COMPLETED));
+        backdate(List.of(oldCompleted.getId()), longAgo, OrderStatus.COMPLETED);
+        backdate(List.of(oldFailed.getId()), longAgo, OrderStatus.FAILED);
+        backdate(List.of(oldCreated.getId()), longAgo, OrderStatus.CREATED);
+
+        orderArchiver.archive();
+
+        assertThat(orderArchiveRepository.findAll())
+                .extracting(OrderArchive::getId)
+                .containsExactlyInAnyOrder(oldCompleted.getId(), oldFailed.getId());
+        assertThat(orderRepository.findAll())
+                .extracting(Order::getId)
+                .containsExactlyInAnyOrder(oldCreated.getId(), recentCompleted.getId());
+
+        OrderResponse archived = orderService.getOrder(oldCompleted.getId());
+        assertThat(archived.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(archived.getPrice()).isEqualByComparingTo("999.99");
+    }
+
+    @Test
+    @DisplayName("Should stop after the maximum number of batches per run")
+    void archive_BacklogLargerThanRun_LeavesRestForNextRun() {
+        List<Long> orderIds = List.of(
+                orderRepository.save(newOrder(OrderStatus.COMPLETED)).getId(),
+                orderRepository.save(newOrder(OrderStatus.COMPLETED)).getId(),
+                orderRepository.save(newOrder(OrderStatus.COMPLETED)).getId());
+        backdate(orderIds, LocalDateTime.now().minusDays(365), OrderStatus.COMPLETED);
+        OrderArchiver archiver = new OrderArchiver(orderRepository, orderArchiveRepository, transactionTemplate,
+                Duration.ofDays(90), 1, 2);
+
+        archiver.archive();
+        assertThat(orderArchiveRepository.count()).isEqualTo(2);
+        assertThat(orderRepository.count()).isEqualTo(1);
+
+        archiver.archive();
+        assertThat(orderArchiveRepository.count()).isEqualTo(3);
+        assertThat(orderRepository.count()).isZero();
+    }
+
+    private void backdate(List<Long> orderIds, LocalDateTime updatedAt, OrderStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> orderRepository.updateStatus(orderIds, status, updatedAt));
+    }
+
+    private Order newOrder(OrderStatus status) {
+        return Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,241 @@
+package com.ordermanagement.service;
+
+import com.ordermanagement.dto.CreateOrderRequest;
+import com.ordermanagement.dto.OrderResponse;
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderOutbox;
+import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.repository.OrderOutboxRepository;
+import com.ordermanagement.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderProcessorIntegrationTest {
+
+    @Autowired
+    private OrderProcessor orderProcessor;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        orderOutboxRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should write an outbox entry together with a created order")
+    void createOrder_WritesOutboxEntry() {
+        OrderResponse created = orderService.createOrder(newRequest(), "outbox-key");
+
+        assertThat(orderOutboxRepository.findAll())
+                .extracting(OrderOutbox::getOrderId)
+                .containsExactly(created.getId());
+    }
+
+    @Test
+    @DisplayName("Should claim outboxed orders once and move them to PROCESSING")
+    void claimNextBatch_ClaimsOutboxedOrdersOnce() {
+        Order created = enqueue(newOrder(OrderStatus.CREATED));
+        orderRepository.save(newOrder(OrderStatus.CREATED));
+
+        List<Long> claimed = orderProcessor.claimNextBatch(10);
+
+        assertThat(claimed).containsExactly(created.getId());
+        assertThat(orderRepository.findById(created.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.PROCESSING);
+        assertThat(orderOutboxRepository.count()).isZero();
+        assertThat(orderProcessor.claimNextBatch(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should respect the batch size when claiming")
+    void claimNextBatch_RespectsBatchSize() {
+        enqueue(newOrder(OrderStatus.CREATED));
+        enqueue(newOrder(OrderStatus.CREATED));
+        enqueue(newOrder(OrderStatus.CREATED));
+
+        assertThat(orderProcessor.claimNextBatch(2)).hasSize(2);
+        assertThat(orderProcessor.claimNextBatch(2)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should discard outbox entries of orders that are no longer CREATED")
+    void claimNextBatch_OrderAlreadyMovedOn_DiscardsEntry() {
+        Order created = enqueue(newOrder(OrderStatus.CREATED));
+        Order completed = enqueue(newOrder(OrderStatus.COMPLETED));
+
+        assertThat(orderProcessor.claimNextBatch(10)).containsExactly(created.getId());
+        assertThat(orderRepository.findById(completed.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.COMPLETED);
+        assertThat(orderOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should time CREATED from when the order last entered it, not from its creation")
+    void claimNextBatch_RetriedOrder_TimesCreatedSinceReentry() {
+        Order retried = enqueue(newOrder(OrderStatus.CREATED));
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?",
+                LocalDateTime.now().minusDays(2), retried.getId());
+        Timer timeInCreated = meterRegistry.get("order.status.duration").tag("status", "CREATED").timer();
+        Timer queueWait = meterRegistry.get("order.processing.queue.wait").timer();
+        long claimsBefore = timeInCreated.count();
+        double timeInCreatedBefore = timeInCreated.totalTime(TimeUnit.HOURS);
+        double queueWaitBefore = queueWait.totalTime(TimeUnit.HOURS);
+
+        assertThat(orderProcessor.claimNextBatch(10)).containsExactly(retried.getId());
+
+        assertThat(timeInCreated.count()).isEqualTo(claimsBefore + 1);
+        assertThat(timeInCreated.totalTime(TimeUnit.HOURS) - timeInCreatedBefore).isLessThan(1);
+        assertThat(queueWait.totalTime(TimeUnit.HOURS) - queueWaitBefore).isLessThan(1);
+    }
+
+    @Test
+    @DisplayName("Should complete a claimed order or schedule its retry")
+    void processOrders_ClaimedOrder_CompletesOrSchedulesRetry() throws InterruptedException {
+        OrderResponse order = orderService.createOrder(newRequest(), null);
+        orderProcessor.claimNextBatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        orderProcessor.processOrders(List.of(order.getId()), orderId -> finished.countDown());
+
+        assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+        Order processed = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(processed.getStatus()).isIn(OrderStatus.COMPLETED, OrderStatus.CREATED);
+        if (processed.getStatus() == OrderStatus.CREATED) {
+            // The simulated transient failure hit: a retry is pending in the outbox
+            assertThat(processed.getAttempts()).isEqualTo(1);
+            assertThat(processed.getNextAttemptAt()).isNotNull();
+            assertThat(orderOutboxRepository.findAll())
+                    .extracting(OrderOutbox::getOrderId)
+                    .containsExactly(order.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip claimed orders that are no longer PROCESSING")
+    void processOrders_NotProcessing_Skipped() {
+        Order completed = orderRepository.save(newOrder(OrderStatus.COMPLETED));
+        List<Long> finished = new CopyOnWriteArrayList<>();
+
+        orderProcessor.processOrders(List.of(completed.getId(), -1L), finished::add);
+
+        assertThat(finished).containsExactly(completed.getId(), -1L);
+        assertThat(orderRepository.findById(completed.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should not claim an outbox entry before it is due")
+    void claimNextBatch_SkipsEntriesNotYetDue() {
+        Order order = orderRepository.save(newOrder(OrderStatus.CREATED));
+        orderOutboxRepository.save(OrderOutbox.forOrderAt(order.getId(), LocalDateTime.now().plusMinutes(1)));
+
+        assertThat(orderProcessor.claimNextBatch(10)).isEmpty();
+        assertThat(orderOutboxRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should re-enqueue orders whose lease expired")
+    void reclaimStaleOrders_ReEnqueuesAbandonedOrders() {
+        Order processing = orderRepository.save(newOrder(OrderStatus.PROCESSING));
+        Order createdWithoutOutbox = orderRepository.save(newOrder(OrderStatus.CREATED));
+        Order fresh = orderRepository.save(newOrder(OrderStatus.PROCESSING));
+        Order queued = enqueue(newOrder(OrderStatus.CREATED));
+        Order completed = orderRepository.save(newOrder(OrderStatus.COMPLETED));
+        LocalDateTime longAgo = LocalDateTime.now().minusHours(1);
+        backdate(List.of(processing.getId(), queued.getId()), longAgo, OrderStatus.PROCESSING);
+        backdate(List.of(createdWithoutOutbox.getId(), queued.getId()), longAgo, OrderStatus.CREATED);
+        backdate(List.of(completed.getId()), longAgo, OrderStatus.COMPLETED);
+
+        int reclaimed = orderProcessor.reclaimStaleOrders(LocalDateTime.now().minusMinutes(5), 10);
+
+        assertThat(reclaimed).isEqualTo(2);
+        assertThat(orderRepository.findById(processing.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.CREATED);
+        assertThat(orderRepository.findById(fresh.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.PROCESSING);
+        assertThat(orderOutboxRepository.findAll())
+                .extracting(OrderOutbox::getOrderId)
+                .containsExactlyInAnyOrder(processing.getId(), createdWithoutOutbox.getId(), queued.getId());
+        assertThat(orderProcessor.reclaimStaleOrders(LocalDateTime.now().minusMinutes(5), 10)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reclaim stale orders page by page")
+    void reclaimStaleOrders_RespectsBatchSize() {
+        List<Long> ids = List.of(
+                orderRepository.save(newOrder(OrderStatus.PROCESSING)).getId(),
+                orderRepository.save(newOrder(OrderStatus.PROCESSING)).getId(),
+                orderRepository.save(newOrder(OrderStatus.PROCESSING)).getId());
+        backdate(ids, LocalDateTime.now().minusHours(1), OrderStatus.PROCESSING);
+
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(5);
+        assertThat(orderProcessor.reclaimStaleOrders(staleBefore, 2)).isEqualTo(2);
+        assertThat(orderProcessor.reclaimStaleOrders(staleBefore, 2)).isEqualTo(1);
+    }
+
+    private void backdate(List<Long> orderIds, LocalDateTime updatedAt, OrderStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> orderRepository.updateStatus(orderIds, status, updatedAt));
+    }
+
+    private Order enqueue(Order order) {
+        Order saved = orderRepository.save(order);
+        orderOutboxRepository.save(OrderOutbox.forOrder(saved.getId()));
+        return saved;
+    }
+
+    private CreateOrderRequest newRequest() {
+        return CreateOrderRequest.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .build();
+    }
+
+    private Order newOrder(OrderStatus status) {
+        return Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(status)
+                .build();
+    }
+}
@@ -1,19 +1,34 @@
 package com.ordermanagement.service;
 
+import com.ordermanagement.cache.IdempotencyCache;
+import com.ordermanagement.cache.OrderCache;
+import com.ordermanagement.datasource.ReadYourWrites;
 import com.ordermanagement.dto.CreateOrderRequest;
 import com.ordermanagement.dto.OrderResponse;
+import com.ordermanagement.dto.OrderSummary;
 import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderArchive;
 import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.exception.InvalidRequestParameterException;
+import com.ordermanagement.metrics.OrderMetrics;
+import com.ordermanagement.repository.OrderArchiveRepository;
+import com.ordermanagement.repository.OrderOutboxRepository;
 import com.ordermanagement.repository.OrderRepository;
+import com.ordermanagement.repository.OrderRepositoryCustom;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +36,9 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,7 +48,25 @@ class OrderServiceTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private OrderProcessor orderProcessor;
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Mock
+    private IdempotencyCache idempotencyCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private OrderCache orderCache = new OrderCache(100, Duration.ofSeconds(2), Duration.ofMinutes(10));
+
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5));
+
+    @Spy
+    private OrderMetrics orderMetrics = new OrderMetrics(new SimpleMeterRegistry());
 
     @InjectMocks
     private OrderService orderService;
@@ -65,8 +101,10 @@ class OrderServiceTest {
     void createOrder_Success() {
         // Given
         String idempotencyKey = "test-key-123";
-        when(orderRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-        when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+        when(orderRepository.insertIfAbsent(any(Order.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, Order.class).setId(1L);
+            return true;
+        });
 
         // When
         OrderResponse response = orderService.createOrder(validRequest, idempotencyKey);
@@ -77,8 +115,9 @@ class OrderServiceTest {
         assertThat(response.getCustomerId()).isEqualTo("CUST001");
         assertThat(response.getStatus()).isEqualTo(OrderStatus.CREATED);
 
-        verify(orderRepository).save(any(Order.class));
-        verify(orderProcessor).processOrder(1L);
+        verify(orderRepository).insertIfAbsent(any(Order.class));
+        verify(orderRepository, never()).findByIdempotencyKey(idempotencyKey);
+        verify(orderOutboxRepository).save(argThat(entry -> entry.getOrderId().equals(1L)));
     }
 
     @Test
@@ -86,6 +125,7 @@ class OrderServiceTest {
     void createOrder_IdempotencyKeyExists_ReturnsExisting() {
         // Given
         String idempotencyKey = "existing-key";
+        when(orderRepository.insertIfAbsent(any(Order.class))).thenReturn(false);
         when(orderRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.of(savedOrder));
 
         // When
@@ -95,9 +135,62 @@ class OrderServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getId()).isEqualTo(1L);
 
-        // Should not save new order or trigger processing
+        // Should not save or enqueue a new order
         verify(orderRepository, never()).save(any(Order.class));
-        verify(orderProcessor, never()).processOrder(anyLong());
+        verifyNoInteractions(orderOutboxRepository);
+    }
+
+    @Test
+    @DisplayName("Should answer a cached idempotency key with the order's current state without inserting")
+    void createOrder_IdempotencyKeyCached_ReturnsCurrentState() {
+        // Given: the cache holds the order as created, but it has been processed since
+        String idempotencyKey = "cached-key";
+        when(idempotencyCache.get(idempotencyKey)).thenReturn(Optional.of(OrderResponse.fromEntity(savedOrder)));
+        savedOrder.setStatus(OrderStatus.COMPLETED);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(savedOrder));
+
+        // When
+        OrderResponse response = orderService.createOrder(validRequest, idempotencyKey);
+
+        // Then
+        assertThat(response.getId()).isEqualTo(1L);
+        assertThat(response.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        verify(orderRepository, never()).insertIfAbsent(any(Order.class));
+        verify(orderRepository, never()).findByIdempotencyKey(idempotencyKey);
+        verifyNoInteractions(orderOutboxRepository);
+    }
+
+    @Test
+    @DisplayName("Should cache the order created for an idempotency key")
+    void createOrder_Success_PopulatesIdempotencyCache() {
+        // Given
+        String idempotencyKey = "test-key-123";
+        when(orderRepository.insertIfAbsent(any(Order.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, Order.class).setId(1L);
+            return true;
+        });
+
+        // When
+        orderService.createOrder(validRequest, idempotencyKey);
+
+        // Then
+        verify(idempotencyCache).put(eq(idempotencyKey), argThat(order -> order.getId().equals(1L)));
+    }
+
+    @Test
+    @DisplayName("Should save directly when no idempotency key is given")
+    void createOrder_NoIdempotencyKey_SavesDirectly() {
+        // Given
+        when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+
+        // When
+        OrderResponse response = orderService.createOrder(validRequest, null);
+
+        // Then
+        assertThat(response.getId()).isEqualTo(1L);
+        verify(orderRepository, never()).insertIfAbsent(any(Order.class));
+        verify(orderOutboxRepository).save(argThat(entry -> entry.getOrderId().equals(1L)));
+        verifyNoInteractions(idempotencyCache);
     }
 
     @Test
@@ -115,6 +208,21 @@ class OrderServiceTest {
         assertThat(response.getProductName()).isEqualTo("Laptop");
     }
 
+    @Test
+    @DisplayName("Should serve repeated reads of an order from the cache")
+    void getOrder_RepeatedReads_HitCache() {
+        // Given
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(savedOrder));
+
+        // When
+        orderService.getOrder(1L);
+        OrderResponse response = orderService.getOrder(1L);
+
+        // Then
+        assertThat(response.getId()).isEqualTo(1L);
+        verify(orderRepository, times(1)).findById(1L);
+    }
+
     @Test
     @DisplayName("Should throw exception when order not found")
     void getOrder_NotFound_ThrowsException() {
@@ -128,8 +236,32 @@ class OrderServiceTest {
     }
 
     @Test
-    @DisplayName("Should get all orders successfully")
-    void getAllOrders_Success() {
+    @DisplayName("Should read an archived order from the archive")
+    void getOrder_Archived_FallsThroughToArchive() {
+        // Given
+        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderArchiveRepository.findById(1L)).thenReturn(Optional.of(OrderArchive.builder()
+                .id(1L)
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("999.99"))
+                .status(OrderStatus.COMPLETED)
+                .createdAt(LocalDateTime.now().minusDays(100))
+                .archivedAt(LocalDateTime.now())
+                .build()));
+
+        // When
+        OrderResponse response = orderService.getOrder(1L);
+
+        // Then
+        assertThat(response.getId()).isEqualTo(1L);
+        assertThat(response.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should get a page of orders after the cursor")
+    void getOrders_Success() {
         // Given
         Order order2 = Order.builder()
                 .id(2L)
@@ -142,10 +274,10 @@ class OrderServiceTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(orderRepository.findAll()).thenReturn(List.of(savedOrder, order2));
+        when(orderRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10))).thenReturn(List.of(savedOrder, order2));
 
         // When
-        List<OrderResponse> orders = orderService.getAllOrders();
+        List<Order> orders = orderService.getOrders(null, 10);
 
         // Then
         assertThat(orders).hasSize(2);
@@ -154,16 +286,54 @@ class OrderServiceTest {
     }
 
     @Test
-    @DisplayName("Should get orders by customer ID")
-    void getOrdersByCustomer_Success() {
+    @DisplayName("Should cap the page size at the maximum")
+    void getOrders_LimitAboveMax_IsCapped() {
+        // Given
+        when(orderRepository.findByIdGreaterThanOrderByIdAsc(5L, Limit.of(OrderService.MAX_PAGE_SIZE)))
+                .thenReturn(List.of());
+
+        // When
+        List<Order> orders = orderService.getOrders(5L, 1_000_000);
+
+        // Then
+        assertThat(orders).isEmpty();
+        verify(orderRepository).findByIdGreaterThanOrderByIdAsc(5L, Limit.of(OrderService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    @DisplayName("Should reject a page size below one")
+    void getOrders_LimitBelowOne_Throws() {
+        assertThatThrownBy(() -> orderService.getOrders(null, 0))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should query a customer's orders with the decoded cursor and a capped page size")
+    void getCustomerOrders_WithCursor_QueriesKeyset() {
         // Given
-        when(orderRepository.findByCustomerId("CUST001")).thenReturn(List.of(savedOrder));
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_000);
+        OrderSummary summary = OrderSummary.builder().id(7L).createdAt(createdAt).build();
+        when(orderRepository.findCustomerOrders(any(), anyInt())).thenReturn(List.of(summary));
+        String cursor = OrderService.customerOrderCursor(summary);
 
         // When
-        List<OrderResponse> orders = orderService.getOrdersByCustomer("CUST001");
+        List<OrderSummary> orders = orderService.getCustomerOrders("CUST001", OrderStatus.COMPLETED, null, null, cursor, 1_000_000);
 
         // Then
-        assertThat(orders).hasSize(1);
-        assertThat(orders.get(0).getCustomerId()).isEqualTo("CUST001");
+        assertThat(orders).containsExactly(summary);
+        verify(orderRepository).findCustomerOrders(
+                new OrderRepositoryCustom.CustomerOrderQuery("CUST001", OrderStatus.COMPLETED, null, null, createdAt, 7L),
+                OrderService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed customer order cursor or a page size below one")
+    void getCustomerOrders_InvalidCursor_Throws() {
+        assertThatThrownBy(() -> orderService.getCustomerOrders("CUST001", null, null, null, "not-a-cursor", 10))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        assertThatThrownBy(() -> orderService.getCustomerOrders("CUST001", null, null, null, null, 0))
+                .isInstanceOf(InvalidRequestParameterException.class);
+        verifyNoInteractions(orderRepository);
     }
 }
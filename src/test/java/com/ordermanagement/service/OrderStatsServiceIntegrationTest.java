@@ -0,0 +1,176 @@
+package com.ordermanagement.service;
+
+import com.ordermanagement.dto.OrderStatsResponse;
+import com.ordermanagement.entity.Order;
+import com.ordermanagement.entity.OrderArchive;
+import com.ordermanagement.entity.OrderStatsHourly;
+import com.ordermanagement.entity.OrderStatus;
+import com.ordermanagement.event.OrderStatusChangedEvent;
+import com.ordermanagement.exception.InvalidRequestParameterException;
+import com.ordermanagement.repository.OrderArchiveRepository;
+import com.ordermanagement.repository.OrderOutboxRepository;
+import com.ordermanagement.repository.OrderRepository;
+import com.ordermanagement.repository.OrderStatsHourlyRepository;
+import com.ordermanagement.repository.OrderStatusTotalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderStatsServiceIntegrationTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2020, 1, 1, 10, 0);
+
+    @Autowired
+    private OrderStatsService orderStatsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OrderStatusTotalRepository statusTotalRepository;
+
+    @Autowired
+    private OrderStatsHourlyRepository statsHourlyRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Start from empty rollups, without deltas left over from other tests
+        orderStatsService.flush();
+        statusTotalRepository.deleteAll();
+        statsHourlyRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should roll up status changes before and after they are flushed")
+    void getStats_CombinesFlushedAndPendingChanges() {
+        eventPublisher.publishEvent(OrderStatusChangedEvent.created(1L, HOUR.plusMinutes(5), new BigDecimal("10.00")));
+        eventPublisher.publishEvent(OrderStatusChangedEvent.created(2L, HOUR.plusMinutes(10), new BigDecimal("5.50")));
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                1L, OrderStatus.CREATED, OrderStatus.COMPLETED, HOUR.plusMinutes(20), new BigDecimal("10.00")));
+
+        assertStats(orderStatsService.getStats(HOUR, HOUR.plusHours(1)));
+
+        orderStatsService.flush();
+        assertThat(statsHourlyRepository.findById(new OrderStatsHourly.Key(HOUR, OrderStatus.CREATED)))
+                .hasValueSatisfying(bucket -> assertThat(bucket.getOrderCount()).isEqualTo(2));
+        assertStats(orderStatsService.getStats(HOUR, HOUR.plusHours(1)));
+
+        // A second flush adds to the existing rows
+        eventPublisher.publishEvent(OrderStatusChangedEvent.created(3L, HOUR.plusMinutes(30), new BigDecimal("1.00")));
+        orderStatsService.flush();
+
+        OrderStatsResponse stats = orderStatsService.getStats(HOUR, HOUR.plusHours(1));
+        assertThat(stats.getCurrent().get(OrderStatus.CREATED).getCount()).isEqualTo(2);
+        assertThat(stats.getCurrent().get(OrderStatus.CREATED).getAmount()).isEqualByComparingTo("6.50");
+        assertThat(stats.getWindow().get(OrderStatus.CREATED).getCount()).isEqualTo(3);
+        assertThat(stats.getWindow().get(OrderStatus.CREATED).getPerMinute()).isEqualTo(3 / 60.0);
+    }
+
+    @Test
+    @DisplayName("Should only count transitions inside the window")
+    void getStats_ExcludesTransitionsOutsideWindow() {
+        eventPublisher.publishEvent(OrderStatusChangedEvent.created(1L, HOUR.plusMinutes(5), new BigDecimal("10.00")));
+        eventPublisher.publishEvent(OrderStatusChangedEvent.created(2L, HOUR.plusHours(2), new BigDecimal("5.50")));
+        orderStatsService.flush();
+
+        OrderStatsResponse stats = orderStatsService.getStats(HOUR.plusHours(1), HOUR.plusHours(3));
+
+        assertThat(stats.getWindow().get(OrderStatus.CREATED).getCount()).isEqualTo(1);
+        assertThat(stats.getHourly()).singleElement()
+                .satisfies(bucket -> assertThat(bucket.getHour()).isEqualTo(HOUR.plusHours(2)));
+        assertThat(stats.getCurrent().get(OrderStatus.CREATED).getCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reset drifted status totals to the live and archived orders, minus pending deltas")
+    void reconcile_LostDeltas_ResetsTotals() {
+        orderOutboxRepository.deleteAll();
+        orderRepository.deleteAll();
+        orderArchiveRepository.deleteAll();
+        Order created = orderRepository.save(order(OrderStatus.CREATED, "10.00", 1));
+        orderRepository.save(order(OrderStatus.COMPLETED, "5.50", 2));
+        orderArchiveRepository.save(OrderArchive.builder()
+                .id(999_999L)
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(1)
+                .price(new BigDecimal("3.00"))
+                .status(OrderStatus.FAILED)
+                .createdAt(HOUR)
+                .archivedAt(HOUR)
+                .build());
+        // The creation is still pending on this node; the other changes were lost in a crash,
+        // and a stale PROCESSING total was flushed
+        eventPublisher.publishEvent(OrderStatusChangedEvent.created(created.getId(), HOUR, created.getAmount()));
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                1L, null, OrderStatus.PROCESSING, HOUR, new BigDecimal("7.00")));
+        orderStatsService.flush();
+        eventPublisher.publishEvent(OrderStatusChangedEvent.created(created.getId(), HOUR, created.getAmount()));
+
+        orderStatsService.reconcile();
+
+        assertReconciled(orderStatsService.getStats(HOUR, HOUR.plusHours(1)));
+        orderStatsService.flush();
+        assertReconciled(orderStatsService.getStats(HOUR, HOUR.plusHours(1)));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty window")
+    void getStats_InvalidWindow_Throws() {
+        assertThatThrownBy(() -> orderStatsService.getStats(HOUR, HOUR))
+                .isInstanceOf(InvalidRequestParameterException.class);
+    }
+
+    private void assertReconciled(OrderStatsResponse stats) {
+        assertThat(stats.getCurrent().get(OrderStatus.CREATED).getCount()).isEqualTo(1);
+        assertThat(stats.getCurrent().get(OrderStatus.CREATED).getAmount()).isEqualByComparingTo("10.00");
+        assertThat(stats.getCurrent().get(OrderStatus.PROCESSING).getCount()).isZero();
+        assertThat(stats.getCurrent().get(OrderStatus.PROCESSING).getAmount()).isEqualByComparingTo("0");
+        assertThat(stats.getCurrent().get(OrderStatus.COMPLETED).getCount()).isEqualTo(1);
+        assertThat(stats.getCurrent().get(OrderStatus.COMPLETED).getAmount()).isEqualByComparingTo("11.00");
+        assertThat(stats.getCurrent().get(OrderStatus.FAILED).getCount()).isEqualTo(1);
+        assertThat(stats.getCurrent().get(OrderStatus.FAILED).getAmount()).isEqualByComparingTo("3.00");
+    }
+
+    private Order order(OrderStatus status, String price, int quantity) {
+        return Order.builder()
+                .customerId("CUST001")
+                .productName("Laptop")
+                .quantity(quantity)
+                .price(new BigDecimal(price))
+                .status(status)
+                .build();
+    }
+
+    private void assertStats(OrderStatsResponse stats) {
+        assertThat(stats.getCurrent().get(OrderStatus.CREATED).getCount()).isEqualTo(1);
+        assertThat(stats.getCurrent().get(OrderStatus.CREATED).getAmount()).isEqualByComparingTo("5.50");
+        assertThat(stats.getCurrent().get(OrderStatus.COMPLETED).getCount()).isEqualTo(1);
+        assertThat(stats.getCurrent().get(OrderStatus.COMPLETED).getAmount()).isEqualByComparingTo("10.00");
+        assertThat(stats.getWindow().get(OrderStatus.CREATED).getCount()).isEqualTo(2);
+        assertThat(stats.getWindow().get(OrderStatus.CREATED).getAmount()).isEqualByComparingTo("15.50");
+        assertThat(stats.getWindow().get(OrderStatus.PROCESSING).getCount()).isZero();
+        assertThat(stats.getHourly()).hasSize(2);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ordermanagement.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryPolicyTest {
+
+    private final RetryPolicy retryPolicy =
+            new RetryPolicy(4, Duration.ofSeconds(1), 2.0, Duration.ofSeconds(5));
+
+    @Test
+    @DisplayName("Should allow retries until max attempts is reached")
+    void canRetry_StopsAtMaxAttempts() {
+        assertThat(retryPolicy.canRetry(1)).isTrue();
+        assertThat(retryPolicy.canRetry(3)).isTrue();
+        assertThat(retryPolicy.canRetry(4)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep jittered delays within the exponential bound")
+    void nextDelay_WithinExponentialBound() {
+        for (int i = 0; i < 1000; i++) {
+            assertThat(retryPolicy.nextDelay(1)).isBetween(Duration.ZERO, Duration.ofSeconds(1));
+            assertThat(retryPolicy.nextDelay(3)).isBetween(Duration.ZERO, Duration.ofSeconds(4));
+        }
+    }
+
+    @Test
+    @DisplayName("Should cap delays at the maximum delay")
+    void nextDelay_CappedAtMaxDelay() {
+        for (int i = 0; i < 1000; i++) {
+            assertThat(retryPolicy.nextDelay(10)).isLessThanOrEqualTo(Duration.ofSeconds(5));
+        }
+    }
+}